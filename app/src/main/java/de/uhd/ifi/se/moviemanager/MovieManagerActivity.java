@@ -13,11 +13,7 @@ import androidx.fragment.app.FragmentTransaction;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.android.material.elevation.SurfaceColors;
 
-import java.util.Set;
-
-import de.uhd.ifi.se.moviemanager.model.Movie;
 import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
-import de.uhd.ifi.se.moviemanager.model.Performer;
 import de.uhd.ifi.se.moviemanager.storage.StorageManagerAccess;
 import de.uhd.ifi.se.moviemanager.ui.master.MovieMasterFragment;
 import de.uhd.ifi.se.moviemanager.ui.master.PerformerMasterFragment;
@@ -31,7 +27,6 @@ import de.uhd.ifi.se.moviemanager.util.ActivityUtils;
  */
 public class MovieManagerActivity extends AppCompatActivity {
     private static final StorageManagerAccess STORAGE = StorageManagerAccess.getInstance();
-    private final MovieManagerModel model = MovieManagerModel.getInstance();
     public static final String STORAGE_NAME = "movie_manager";
     private BottomNavigationView navigationView;
 
@@ -52,6 +47,22 @@ public class MovieManagerActivity extends AppCompatActivity {
     }
 
 
+    @Override
+    protected void onStop() {
+        // the model is restored from the snapshot at the next start
+        STORAGE.saveSnapshotAsync();
+        super.onStop();
+    }
+
+    @Override
+    protected void onDestroy() {
+        if (isFinishing()) {
+            // writes are queued in the background, see StorageManagerAccess
+            STORAGE.flush();
+        }
+        super.onDestroy();
+    }
+
     private void initViewItems() {
         navigationView = findViewById(R.id.bottom_navigation);
     }
@@ -69,9 +80,8 @@ public class MovieManagerActivity extends AppCompatActivity {
     }
 
     private Fragment createMoviesFragment() {
-        Set<Movie> movies = model.getMovies();
         final int menuId = R.string.bottom_navigation_menu_movies;
-        return MovieMasterFragment.getInstance(menuId, movies);
+        return MovieMasterFragment.getInstance(menuId);
     }
 
     private boolean onNavigationItemSelected(MenuItem menuItem) {
@@ -94,9 +104,8 @@ public class MovieManagerActivity extends AppCompatActivity {
     }
 
     private Fragment createPerformersFragment() {
-        Set<Performer> performers = model.getPerformers();
         final int menuId = R.string.bottom_navigation_menu_performers;
-        return PerformerMasterFragment.getInstance(menuId, performers);
+        return PerformerMasterFragment.getInstance(menuId);
     }
 
     private Fragment createSearchFragment() {
@@ -0,0 +1,19 @@
+package de.uhd.ifi.se.moviemanager.model;
+
+import java.util.Optional;
+
+/**
+ * Loads the complete stored representation of a {@link ModelObjectWithImage}
+ * whose details, e.g. the description of a {@link Movie}, were not loaded at
+ * startup.
+ */
+@FunctionalInterface
+public interface Hydrator {
+
+    /**
+     * @param id of the {@link Movie} or {@link Performer}.
+     * @return completely loaded object or an empty optional if it is not
+     * stored.
+     */
+    Optional<? extends ModelObjectWithImage> load(int id);
+}
@@ -0,0 +1,54 @@
+package de.uhd.ifi.se.moviemanager.model;
+
+/**
+ * Hands out ids for one class of data objects, e.g. for {@link Movie}s. Ids
+ * are handed out in ascending order above the highest id that was ever used,
+ * in O(1) and without iterating over all objects.
+ * <p>
+ * An allocated id is reserved immediately, so that objects that are created
+ * at the same time get different ids, even before they are added to the
+ * {@link MovieManagerModel}. All methods are thread-safe.
+ */
+public final class IdAllocator {
+    // highest id that was used + 1
+    // @decision Ids of removed objects are not handed out again, because
+    // they are still referenced after the removal, e.g. by queued writes,
+    // by journal records, or by the intents of open activities.
+    private int highWaterMark;
+
+    /**
+     * @return id above all ids that were used, which is marked as used.
+     */
+    public synchronized int allocate() {
+        return highWaterMark++;
+    }
+
+    /**
+     * Marks the id as used, e.g. when an object is loaded from storage.
+     */
+    public synchronized void markUsed(int id) {
+        highWaterMark = Math.max(highWaterMark, id + 1);
+    }
+
+    /**
+     * @return highest id that was used + 1, i.e., 0 if no id was used.
+     */
+    public synchronized int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Restores the high-water mark that was stored, e.g. in a snapshot. The
+     * mark never decreases.
+     */
+    public synchronized void restoreHighWaterMark(int highWaterMark) {
+        this.highWaterMark = Math.max(this.highWaterMark, highWaterMark);
+    }
+
+    /**
+     * Forgets all used ids, e.g. when the model is cleared.
+     */
+    public synchronized void clear() {
+        highWaterMark = 0;
+    }
+}
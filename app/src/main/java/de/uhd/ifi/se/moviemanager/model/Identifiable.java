@@ -3,8 +3,6 @@ package de.uhd.ifi.se.moviemanager.model;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
-import java.util.Set;
-
 import de.uhd.ifi.se.moviemanager.storage.DataObjectStorageManager;
 
 /**
@@ -23,25 +21,4 @@ public interface Identifiable {
     int getId();
 
     void setId(int id);
-
-    /**
-     * Returns a free id in a sorted set. If there are no gaps, the last id + 1 is returned.
-     *
-     * @param set sorted set of {@link Movie}s, {@link Performer}s or
-     *            {@link ImagePyramid}s. The objects are sorted by their id. The respective classes
-     *            implement the {@link Comparable} interface.
-     * @param <T> class that implements  interface, e.g., {@link Movie}, {@link
-     *            Performer} or {@link ImagePyramid} class.
-     * @return first free id in the sorted set. If there are no gaps, the last id + 1 is returned.
-     */
-    static <T> int findFreeId(Set<T> set) {
-        int i = 0;
-        for (T object : set) {
-            if (((Identifiable) object).getId() > i) {
-                return i;
-            }
-            i++;
-        }
-        return i;
-    }
 }
@@ -68,8 +68,22 @@ public class ImagePyramid implements Identifiable {
         return ImageBased.getBitmapFromURL(imageUrl);
     }
 
-    public void setBitmap(Bitmap bitmap) {
+    /**
+     * @param bitmap new image, null if the image is removed.
+     * @return true if the new bitmap differs from the previous bitmap.
+     */
+    public boolean setBitmap(Bitmap bitmap) {
+        boolean changed = !isSameBitmap(this.bitmap, bitmap);
         this.bitmap = bitmap;
+        return changed;
+    }
+
+    private static boolean isSameBitmap(Bitmap bitmap, Bitmap otherBitmap) {
+        if (bitmap == otherBitmap) {
+            return true;
+        }
+        return bitmap != null && otherBitmap != null &&
+                bitmap.sameAs(otherBitmap);
     }
 
     /**
@@ -86,15 +100,22 @@ public class ImagePyramid implements Identifiable {
         return imageUrl;
     }
 
-    public void setBitmap(Drawable drawable) {
+    /**
+     * @return true if the new bitmap differs from the previous bitmap.
+     */
+    public boolean setBitmap(Drawable drawable) {
         if (drawable instanceof BitmapDrawable)
-            bitmap = ((BitmapDrawable) drawable).getBitmap();
+            return setBitmap(((BitmapDrawable) drawable).getBitmap());
         else
-            bitmap = null;
+            return setBitmap((Bitmap) null);
     }
 
-    public void setBitmap(ColorDrawable colorDrawable, ImageSize imageSize) {
-        bitmap = convertColorDrawableToBitmap(colorDrawable, imageSize);
+    /**
+     * @return true if the new bitmap differs from the previous bitmap.
+     */
+    public boolean setBitmap(ColorDrawable colorDrawable, ImageSize imageSize) {
+        return setBitmap(convertColorDrawableToBitmap(colorDrawable,
+                imageSize));
     }
 
     private Bitmap convertColorDrawableToBitmap(ColorDrawable colorDrawable,
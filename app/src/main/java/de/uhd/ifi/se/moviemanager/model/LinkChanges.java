@@ -0,0 +1,40 @@
+package de.uhd.ifi.se.moviemanager.model;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Links between one {@link Movie} and its {@link Performer}s that changed since
+ * the associations were stored the last time. Collected by the {@link
+ * MovieManagerModel} so that only the changed links need to be written.
+ */
+public class LinkChanges {
+    private final Set<Integer> addedPerformerIds = new HashSet<>();
+    private final Set<Integer> removedPerformerIds = new HashSet<>();
+
+    void linked(int performerId) {
+        // @decision A link that was removed and added again is unchanged.
+        if (!removedPerformerIds.remove(performerId)) {
+            addedPerformerIds.add(performerId);
+        }
+    }
+
+    void unlinked(int performerId) {
+        if (!addedPerformerIds.remove(performerId)) {
+            removedPerformerIds.add(performerId);
+        }
+    }
+
+    public Set<Integer> getAddedPerformerIds() {
+        return Collections.unmodifiableSet(addedPerformerIds);
+    }
+
+    public Set<Integer> getRemovedPerformerIds() {
+        return Collections.unmodifiableSet(removedPerformerIds);
+    }
+
+    public boolean isEmpty() {
+        return addedPerformerIds.isEmpty() && removedPerformerIds.isEmpty();
+    }
+}
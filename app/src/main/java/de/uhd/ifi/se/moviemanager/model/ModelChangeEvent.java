@@ -0,0 +1,107 @@
+package de.uhd.ifi.se.moviemanager.model;
+
+import static java.lang.String.format;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Describes one change of the {@link MovieManagerModel}, e.g. that a {@link
+ * Movie} was added. Only the ids of the affected objects are part of the
+ * event, listeners look up the objects in the model if they need them.
+ *
+ * @see MovieManagerModel#addChangeListener(ModelChangeListener)
+ */
+public final class ModelChangeEvent {
+
+    /**
+     * Kinds of changes.
+     */
+    public enum Type {
+        ADDED,
+        UPDATED,
+        REMOVED,
+        LINKED,
+        UNLINKED,
+        // all objects of the class were replaced, e.g. after loading
+        RESET
+    }
+
+    private final Type type;
+    private final Class<? extends Identifiable> objectClass;
+    private final int id;
+    private final int linkedId;
+
+    private ModelChangeEvent(Type type,
+                             Class<? extends Identifiable> objectClass,
+                             int id, int linkedId) {
+        this.type = type;
+        this.objectClass = objectClass;
+        this.id = id;
+        this.linkedId = linkedId;
+    }
+
+    static ModelChangeEvent of(Type type, Identifiable object) {
+        return new ModelChangeEvent(type, object.getClass(), object.getId(),
+                -1);
+    }
+
+    static ModelChangeEvent of(Type type,
+                               Class<? extends Identifiable> objectClass,
+                               int id) {
+        return new ModelChangeEvent(type, objectClass, id, -1);
+    }
+
+    static ModelChangeEvent ofLink(Type type, int movieId, int performerId) {
+        return new ModelChangeEvent(type, Movie.class, movieId, performerId);
+    }
+
+    static ModelChangeEvent reset(Class<? extends Identifiable> objectClass) {
+        return new ModelChangeEvent(Type.RESET, objectClass, -1, -1);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return class of the changed object, {@link Movie} for links.
+     */
+    public Class<? extends Identifiable> getObjectClass() {
+        return objectClass;
+    }
+
+    /**
+     * @return id of the changed object, the id of the movie for links, or -1
+     * for {@link Type#RESET}.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return id of the performer for links, otherwise -1.
+     */
+    public int getLinkedId() {
+        return linkedId;
+    }
+
+    /**
+     * @param objectClass e.g. {@link Performer}.
+     * @return id of the object of the class that is affected by the change, or
+     * -1 if no object of the class is affected.
+     */
+    public int getIdOf(Class<? extends Identifiable> objectClass) {
+        if (this.objectClass.equals(objectClass)) {
+            return id;
+        }
+        boolean isLink = type == Type.LINKED || type == Type.UNLINKED;
+        return isLink && objectClass.equals(Performer.class) ? linkedId : -1;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return format("%s %s %d %d", type, objectClass.getSimpleName(), id,
+                linkedId);
+    }
+}
@@ -0,0 +1,18 @@
+package de.uhd.ifi.se.moviemanager.model;
+
+/**
+ * Is notified of the changes of the {@link MovieManagerModel}, see {@link
+ * MovieManagerModel#addChangeListener(ModelChangeListener)}.
+ */
+@FunctionalInterface
+public interface ModelChangeListener {
+
+    /**
+     * Called on the thread that changed the model, right after the change,
+     * without the lock of the model. The listener may read the model, which
+     * may already have changed further.
+     *
+     * @param event describes the change.
+     */
+    void onModelChanged(ModelChangeEvent event);
+}
@@ -23,14 +23,33 @@ import java.util.Optional;
  * {@link Performer} class. The images are modeled in the
  * {@link ImagePyramid} class.
  * <p>
+ * Every object records which of its fields changed since it was persisted the
+ * last time, so that unchanged objects are not written again.
+ * <p>
  * This class is abstract and cannot be instantiated.
  */
 public abstract class ModelObjectWithImage
         implements Identifiable, Nameable, ImageBased, Comparable<ModelObjectWithImage>, Parcelable {
+    // bits of the fields in the mask of dirty fields, the subclasses use the
+    // following bits for their fields
+    public static final int NAME_FIELD = 1;
+    public static final int IMAGE_FIELD = 1 << 1;
+    protected static final int ALL_FIELDS = ~0;
+
     private int id;
     private String name;
     protected ImagePyramid image;
 
+    // loads the details on first access, null if the details are loaded
+    @JsonIgnore
+    private volatile Hydrator hydrator;
+
+    // fields that changed since the object was persisted the last time
+    // @decision A bit mask is used, each field has its own bit. New objects
+    // were never persisted, all their fields are dirty.
+    @JsonIgnore
+    private int dirtyFields = ALL_FIELDS;
+
     protected final MovieManagerModel model = MovieManagerModel.getInstance();
 
     protected ModelObjectWithImage(Integer id) {
@@ -63,6 +82,99 @@ public abstract class ModelObjectWithImage
         image.setId(id);
     }
 
+    /**
+     * Marks the object as a summary whose details, e.g. the description of a
+     * {@link Movie}, are loaded on first access.
+     *
+     * @param hydrator loads the complete object.
+     */
+    @JsonIgnore
+    public void setHydrator(Hydrator hydrator) {
+        this.hydrator = hydrator;
+    }
+
+    /**
+     * @return true if the details of the object are loaded.
+     */
+    @JsonIgnore
+    public boolean isHydrated() {
+        return hydrator == null;
+    }
+
+    /**
+     * Loads the details of the object if they were not loaded yet. Needs to be
+     * called by all getters and setters of details.
+     */
+    protected final void ensureHydrated() {
+        if (hydrator == null) {
+            return;
+        }
+        synchronized (this) {
+            Hydrator pending = hydrator;
+            if (pending == null) {
+                return;
+            }
+            hydrator = null;
+            pending.load(id).ifPresent(this::copyDetailsFrom);
+        }
+    }
+
+    /**
+     * @return bit mask of the fields that changed since the object was
+     * persisted the last time, e.g. {@link #NAME_FIELD}.
+     */
+    @JsonIgnore
+    public synchronized int getDirtyFields() {
+        return dirtyFields;
+    }
+
+    /**
+     * @return true if a field changed since the object was persisted the last
+     * time.
+     */
+    @JsonIgnore
+    public synchronized boolean isDirty() {
+        return dirtyFields != 0;
+    }
+
+    /**
+     * Marks the object as persisted. Called by the storage before the object
+     * is written, so that changes during the write are not lost.
+     *
+     * @return bit mask of the fields that were dirty.
+     */
+    public synchronized int clearDirtyFields() {
+        int fields = dirtyFields;
+        dirtyFields = 0;
+        return fields;
+    }
+
+    /**
+     * Marks the fields as dirty, e.g. again after they could not be written.
+     *
+     * @param fields bit mask of the fields, see {@link #clearDirtyFields()}.
+     */
+    public synchronized void markDirty(int fields) {
+        dirtyFields |= fields;
+    }
+
+    /**
+     * Marks the field as dirty if the new value differs from the old value.
+     */
+    protected void markDirtyIfChanged(int field, Object oldValue,
+                                      Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            markDirty(field);
+        }
+    }
+
+    /**
+     * Copies the fields that are not loaded at startup.
+     *
+     * @param complete completely loaded object with the same id.
+     */
+    protected abstract void copyDetailsFrom(ModelObjectWithImage complete);
+
     @Override
     public String getName() {
         return name;
@@ -70,7 +182,13 @@ public abstract class ModelObjectWithImage
 
     @Override
     public void setName(String name) {
+        boolean changed = !Objects.equals(this.name, name);
+        markDirtyIfChanged(NAME_FIELD, this.name, name);
         this.name = name;
+        if (changed) {
+            // linked objects are sorted by their names
+            model.linksChanged();
+        }
     }
 
     @Override
@@ -81,27 +199,35 @@ public abstract class ModelObjectWithImage
 
     @Override
     public void setImage(ImagePyramid image) {
+        markDirtyIfChanged(IMAGE_FIELD, this.image, image);
         this.image = image;
     }
 
     @Override
     public void setImage(Drawable drawable) {
-        image.setBitmap(drawable);
+        if (image.setBitmap(drawable)) {
+            markDirty(IMAGE_FIELD);
+        }
     }
 
     @Override
     public void setImage(ColorDrawable colorDrawable,
                          ImagePyramid.ImageSize imageSize) {
-        image.setBitmap(colorDrawable, imageSize);
+        if (image.setBitmap(colorDrawable, imageSize)) {
+            markDirty(IMAGE_FIELD);
+        }
     }
 
     @Override
     public void setImage(Bitmap bitmap) {
-        image.setBitmap(bitmap);
+        if (image.setBitmap(bitmap)) {
+            markDirty(IMAGE_FIELD);
+        }
     }
 
     @Override
     public void setImage(String imageUrl) {
+        markDirtyIfChanged(IMAGE_FIELD, image.getImageUrl(), imageUrl);
         image.setImageUrl(imageUrl);
     }
 
@@ -0,0 +1,152 @@
+package de.uhd.ifi.se.moviemanager.model;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import de.uhd.ifi.se.moviemanager.util.IntAdjacency;
+
+/**
+ * Immutable state of the {@link MovieManagerModel} at one version, see {@link
+ * MovieManagerModel#getState()}. Contains the movies, the performers and
+ * their links as they were when the state was published. Background threads
+ * read a state without locks while the model is changed.
+ * <p>
+ * Only the collections are immutable: the attributes of the data objects may
+ * still change.
+ */
+public final class ModelState {
+    static final ModelState EMPTY = new ModelState(0, ImmutableList.of(),
+            ImmutableList.of(), new long[0]);
+
+    private final long version;
+    // @decision The lists of a state are reused by the next state if they
+    // did not change, e.g. a new link does not copy the movies.
+    private final ImmutableList<Movie> movies;
+    private final ImmutableList<Performer> performers;
+    // movie-performer pairs, sorted by movie id and performer id
+    private final long[] links;
+
+    ModelState(long version, ImmutableList<Movie> movies,
+               ImmutableList<Performer> performers, long[] links) {
+        this.version = version;
+        this.movies = movies;
+        this.performers = performers;
+        this.links = links;
+    }
+
+    /**
+     * @return version of the model, increases with every change.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return all movies sorted by their ids.
+     */
+    public List<Movie> getMovies() {
+        return movies;
+    }
+
+    /**
+     * @return all performers sorted by their ids.
+     */
+    public List<Performer> getPerformers() {
+        return performers;
+    }
+
+    ImmutableList<Movie> getMovieList() {
+        return movies;
+    }
+
+    ImmutableList<Performer> getPerformerList() {
+        return performers;
+    }
+
+    long[] getLinks() {
+        return links;
+    }
+
+    /**
+     * @return movie with the id, found by binary search.
+     */
+    public Optional<Movie> getMovieById(int id) {
+        return findById(movies, id);
+    }
+
+    /**
+     * @return performer with the id, found by binary search.
+     */
+    public Optional<Performer> getPerformerById(int id) {
+        return findById(performers, id);
+    }
+
+    private static <T extends Identifiable> Optional<T> findById(
+            List<T> objects, int id) {
+        int low = 0;
+        int high = objects.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleId = objects.get(middle).getId();
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return Optional.of(objects.get(middle));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return number of movie-performer links.
+     */
+    public int getLinkCount() {
+        return links.length;
+    }
+
+    /**
+     * Performs the action for every link, sorted by movie id and performer id.
+     */
+    public void forEachLink(IntAdjacency.LinkConsumer action) {
+        for (long link : links) {
+            action.accept(movieIdOf(link), performerIdOf(link));
+        }
+    }
+
+    /**
+     * @return ids of the performers linked to the movie in ascending order.
+     */
+    public int[] getPerformerIdsOf(int movieId) {
+        int from = lowerBound(link(movieId, Integer.MIN_VALUE));
+        int to = movieId == Integer.MAX_VALUE ? links.length :
+                lowerBound(link(movieId + 1L, Integer.MIN_VALUE));
+        int[] performerIds = new int[to - from];
+        for (int i = from; i < to; i++) {
+            performerIds[i - from] = performerIdOf(links[i]);
+        }
+        return performerIds;
+    }
+
+    private int lowerBound(long key) {
+        int index = Arrays.binarySearch(links, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    static long link(long movieId, int performerId) {
+        // the performer id is offset, so that the pairs sort like the ids
+        return (movieId << 32) | ((long) performerId - Integer.MIN_VALUE);
+    }
+
+    private static int movieIdOf(long link) {
+        return (int) (link >> 32);
+    }
+
+    private static int performerIdOf(long link) {
+        return (int) ((link & 0xFFFFFFFFL) + Integer.MIN_VALUE);
+    }
+}
@@ -15,9 +15,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.DoubleSummaryStatistics;
 import java.util.List;
-import java.util.stream.Collectors;
+
+import de.uhd.ifi.se.moviemanager.util.VersionedCache;
 
 /**
  * Data class which models a movie with zero to many {@link Performer}s.
@@ -25,6 +25,14 @@ import java.util.stream.Collectors;
 @JsonIgnoreProperties("name")
 // because the name of the movie is its title
 public class Movie extends ModelObjectWithImage implements Rateable {
+    // bits in the mask of dirty fields, see ModelObjectWithImage
+    public static final int WATCH_DATE_FIELD = 1 << 2;
+    public static final int DESCRIPTION_FIELD = 1 << 3;
+    public static final int LANGUAGES_FIELD = 1 << 4;
+    public static final int RELEASES_FIELD = 1 << 5;
+    public static final int RUNTIME_FIELD = 1 << 6;
+    public static final int PRODUCTION_LOCATIONS_FIELD = 1 << 7;
+    public static final int RATING_FIELD = 1 << 8;
 
     private Date watchDate;
     private String description;
@@ -33,7 +41,8 @@ public class Movie extends ModelObjectWithImage implements Rateable {
     private int runtime;
     private List<String> productionLocations;
     private double rating;
-    private double overallRating;
+    private final VersionedCache<Performer> sortedPerformers =
+            new VersionedCache<>();
 
     @JsonCreator
     public Movie(@JsonProperty("id") int id) {
@@ -45,10 +54,10 @@ public class Movie extends ModelObjectWithImage implements Rateable {
         runtime = 0;
         productionLocations = new ArrayList<>();
         rating = -1.;
-        overallRating = -1.;
+        // @decision Deserialized objects pass their id, only new objects
+        // allocate one.
         if (getId() <= -1) {
-            int freeId = Identifiable.findFreeId(model.getMovies());
-            setId(freeId);
+            setId(model.getMovieIds().allocate());
         }
     }
 
@@ -70,26 +79,35 @@ public class Movie extends ModelObjectWithImage implements Rateable {
     }
 
     public String getDescription() {
+        ensureHydrated();
         return description;
     }
 
     public void setDescription(String description) {
+        ensureHydrated();
+        markDirtyIfChanged(DESCRIPTION_FIELD, this.description, description);
         this.description = description;
     }
 
     public List<String> getLanguages() {
+        ensureHydrated();
         return languages;
     }
 
     public void setLanguages(List<String> languages) {
+        ensureHydrated();
+        markDirtyIfChanged(LANGUAGES_FIELD, this.languages, languages);
         this.languages = languages;
     }
 
     public List<MovieRelease> getReleases() {
+        ensureHydrated();
         return releases;
     }
 
     public void setReleases(List<MovieRelease> releases) {
+        ensureHydrated();
+        markDirtyIfChanged(RELEASES_FIELD, this.releases, releases);
         this.releases = releases;
     }
 
@@ -98,7 +116,9 @@ public class Movie extends ModelObjectWithImage implements Rateable {
     }
 
     public void setWatchDate(Date watchDate) {
-        this.watchDate = normDate(watchDate);
+        Date normedWatchDate = normDate(watchDate);
+        markDirtyIfChanged(WATCH_DATE_FIELD, this.watchDate, normedWatchDate);
+        this.watchDate = normedWatchDate;
     }
 
     public int getRuntime() {
@@ -106,19 +126,34 @@ public class Movie extends ModelObjectWithImage implements Rateable {
     }
 
     public void setRuntime(int runtime) {
+        markDirtyIfChanged(RUNTIME_FIELD, this.runtime, runtime);
         this.runtime = runtime;
     }
 
     public List<String> getProductionLocations() {
+        ensureHydrated();
         return productionLocations;
     }
 
     public void setProductionLocations(List<String> productionLocations) {
+        ensureHydrated();
+        markDirtyIfChanged(PRODUCTION_LOCATIONS_FIELD,
+                this.productionLocations, productionLocations);
         this.productionLocations = productionLocations;
     }
 
+    @Override
+    protected void copyDetailsFrom(ModelObjectWithImage complete) {
+        Movie movie = (Movie) complete;
+        description = movie.description;
+        languages = movie.languages;
+        releases = movie.releases;
+        productionLocations = movie.productionLocations;
+    }
+
     @Override
     public void setRating(double rating) {
+        markDirtyIfChanged(RATING_FIELD, this.rating, rating);
         this.rating = rating;
     }
 
@@ -127,18 +162,22 @@ public class Movie extends ModelObjectWithImage implements Rateable {
         return rating;
     }
 
+    /**
+     * @return unmodifiable list of the linked performers sorted by their
+     * names. The list is cached until a link or a name changes.
+     */
     @JsonIgnore
     public List<Performer> getPerformers() {
-        return model.getMoviePerformerAssociations().get(this).stream()
-                .sorted(comparing(Performer::getName,
-                        String::compareToIgnoreCase)).collect(toList());
+        return sortedPerformers.get(model.getLinkVersion(),
+                () -> model.getPerformersOf(this).stream()
+                        .sorted(comparing(Performer::getName,
+                                String::compareToIgnoreCase))
+                        .collect(toList()));
     }
 
     public boolean link(Performer performer) {
         if (performer != null) {
-            boolean success = model.getMoviePerformerAssociations().put(this, performer);
-            calculateOverallRating();
-            return success;
+            return model.link(this, performer);
         } else {
             return false;
         }
@@ -150,30 +189,32 @@ public class Movie extends ModelObjectWithImage implements Rateable {
 
     public boolean unlink(Performer performer) {
         if (performer != null) {
-            return model.getMoviePerformerAssociations()
-                    .remove(this, performer);
+            return model.unlink(this, performer);
         } else {
             return false;
         }
     }
 
+    /**
+     * Calculates the mean of the rating of the movie and the average rating
+     * of its rated performers in constant time, see {@link
+     * MovieManagerModel#getAveragePerformerRating(Movie)}.
+     *
+     * @return overall rating or -1 if the movie is unrated.
+     */
     public double calculateOverallRating() {
-        overallRating = rating;
-        List<Performer> performers = getPerformers();
-        if (!performers.isEmpty() && isRated()) {
-            DoubleSummaryStatistics stats = performers.stream()
-                    .filter(Rateable::isRated).map(Rateable::getRating)
-                    .collect(Collectors.summarizingDouble(Double::doubleValue));
-            if (stats.getCount() > 0) {
-                double performersRating = stats.getAverage();
-                overallRating = (rating + performersRating) / 2.0;
-            }
+        double performersRating = model.getAveragePerformerRating(this);
+        if (!isRated() || performersRating < 0) {
+            return rating;
         }
-        return overallRating;
+        return (rating + performersRating) / 2.0;
     }
 
+    // @decision The overall rating is derived from the ratings of the
+    // performers, it is not stored so that it never gets out of date.
+    @JsonIgnore
     public double getOverallRating() {
-        return overallRating > -1 ? overallRating : calculateOverallRating();
+        return calculateOverallRating();
     }
 
     @JsonIgnore
@@ -182,8 +223,7 @@ public class Movie extends ModelObjectWithImage implements Rateable {
     }
 
     public boolean hasPerformer(Performer performer) {
-        return model.getMoviePerformerAssociations()
-                .containsEntry(this, performer);
+        return model.isLinked(this, performer);
     }
 
     /**
@@ -218,11 +258,11 @@ public class Movie extends ModelObjectWithImage implements Rateable {
         runtime = in.readInt();
         in.readStringList(productionLocations);
         rating = in.readDouble();
-        overallRating = in.readDouble();
     }
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
+        ensureHydrated();
         super.writeToParcel(dest, flags);
         dest.writeString(description);
         dest.writeStringList(languages);
@@ -231,7 +271,6 @@ public class Movie extends ModelObjectWithImage implements Rateable {
         dest.writeInt(runtime);
         dest.writeStringList(productionLocations);
         dest.writeDouble(rating);
-        dest.writeDouble(overallRating);
     }
 
     @Override
@@ -1,12 +1,25 @@
 package de.uhd.ifi.se.moviemanager.model;
 
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import de.uhd.ifi.se.moviemanager.util.IntAdjacency;
+import de.uhd.ifi.se.moviemanager.util.IntObjectMap;
 
 /**
  * Manages all data objects and their associations. Uses the Singleton design
@@ -21,11 +34,70 @@ public class MovieManagerModel {
     private final Set<Movie> movies;
     private final Set<Performer> performers;
 
-    // associations between classes, allows for duplicated keys
-    // @decision Multimaps of guava package are used because they allow to
-    // insert a key more  than once. This is important since, for example, a
-    // movie can be linked to two different performers.
-    private Multimap<Movie, Performer> moviePerformerAssociations;
+    // indexes of the data objects by their ids
+    // @decision The indexes are only changed together with the sets, so the
+    // sets are only exposed as unmodifiable views.
+    private final IntObjectMap<Movie> moviesById = new IntObjectMap<>();
+    private final IntObjectMap<Performer> performersById =
+            new IntObjectMap<>();
+
+    // ids for new data objects, the ids of loaded objects are marked as used
+    private final IdAllocator movieIds = new IdAllocator();
+    private final IdAllocator performerIds = new IdAllocator();
+
+    // associations between classes by the ids of the objects, in both
+    // directions
+    // @decision Adjacency arrays of ids are used instead of multimaps of
+    // objects, because they need no objects per link and do not depend on
+    // the mutable equals of the objects. Both directions are only changed
+    // together in link and unlink and are looked up in O(degree). They are
+    // only read with the lock of the model, because the storage writer
+    // thread changes them, too, e.g. when it removes an object.
+    private final IntAdjacency performerIdsOfMovies = new IntAdjacency();
+    private final IntAdjacency movieIdsOfPerformers = new IntAdjacency();
+    // linked objects by their ids, so that links of objects that were not
+    // added to the model (yet) can be resolved, too
+    private final IntObjectMap<Movie> linkedMovies = new IntObjectMap<>();
+    private final IntObjectMap<Performer> linkedPerformers =
+            new IntObjectMap<>();
+    // ratings of the rated performers per movie id
+    // @decision The sums are updated on link, unlink and rating changes of
+    // performers, so that the overall rating of a movie is read in O(1).
+    private final IntObjectMap<RatingSum> performerRatingsOfMovies =
+            new IntObjectMap<>();
+    // modification counter of the links and of the names of data objects
+    // @decision Cached views of the links, e.g. Movie#getPerformers(),
+    // compare the counter instead of being notified of every change.
+    private final AtomicInteger linkVersion = new AtomicInteger();
+
+    // immutable state for readers on other threads, see getState()
+    // @decision The state is built on the first read after a change instead
+    // of on every change, so that a sequence of changes is copied once. Only
+    // the changed parts are copied, the others are shared with the previous
+    // state.
+    private final AtomicReference<ModelState> state =
+            new AtomicReference<>(ModelState.EMPTY);
+    private volatile long version;
+    private int changedParts;
+    private static final int MOVIES = 1;
+    private static final int PERFORMERS = 2;
+    private static final int LINKS = 4;
+
+    // @decision A copy-on-write list is used because listeners are rarely
+    // added but notified on every change, possibly from another thread.
+    private final List<ModelChangeListener> changeListeners =
+            new CopyOnWriteArrayList<>();
+    // events that were fired while the lock of the model was held, guarded
+    // by the model
+    private final List<ModelChangeEvent> pendingEvents = new ArrayList<>();
+    // keeps the order of the events if several threads deliver them
+    private final Object deliveryLock = new Object();
+
+    // links that changed since the associations were stored the last time,
+    // per movie id
+    // @decision Access is synchronized because the changes are drained by the
+    // storage writer thread.
+    private final Map<Integer, LinkChanges> linkChanges = new HashMap<>();
 
     /**
      * Singleton instance of this model.
@@ -42,10 +114,6 @@ public class MovieManagerModel {
         // The data classes need to implement the Comparable interface.
         movies = new TreeSet<>();
         performers = new TreeSet<>();
-
-        // @decision HashMultimaps are used because they prevent duplicated
-        // key-value pairs.
-        moviePerformerAssociations = HashMultimap.create();
     }
 
     /**
@@ -59,77 +127,591 @@ public class MovieManagerModel {
         return INSTANCE;
     }
 
+    /**
+     * @return unmodifiable view of all movies, sorted by their ids.
+     */
     public Set<Movie> getMovies() {
-        return movies;
+        return Collections.unmodifiableSet(movies);
     }
 
     public boolean addMovie(Movie movie) {
-        return movies.add(movie);
+        boolean added;
+        synchronized (this) {
+            added = movies.add(movie);
+            if (added) {
+                moviesById.put(movie.getId(), movie);
+                movieIds.markUsed(movie.getId());
+                linksChanged();
+                changed(MOVIES);
+                fire(ModelChangeEvent.of(ModelChangeEvent.Type.ADDED, movie));
+            }
+        }
+        deliverEvents();
+        return added;
+    }
+
+    /**
+     * Replaces all movies, e.g. after they were loaded from storage. Does not
+     * change the associations.
+     */
+    public void setMovies(Collection<Movie> movies) {
+        synchronized (this) {
+            this.movies.clear();
+            moviesById.clear();
+            linksChanged();
+            changed(MOVIES);
+            movies.forEach(movie -> {
+                if (this.movies.add(movie)) {
+                    moviesById.put(movie.getId(), movie);
+                    movieIds.markUsed(movie.getId());
+                }
+            });
+            fire(ModelChangeEvent.reset(Movie.class));
+        }
+        deliverEvents();
     }
 
     public void removeMovie(Movie movie) {
-        List<Performer> linkedPerformers = movie.getPerformers();
-        linkedPerformers.forEach(performer -> performer.unlink(movie));
-        movies.remove(movie);
+        synchronized (this) {
+            for (int performerId : performerIdsOfMovies.neighbors(
+                    movie.getId())) {
+                unlink(movie.getId(), performerId);
+            }
+            if (movies.remove(movie)) {
+                moviesById.remove(movie.getId());
+                linksChanged();
+                changed(MOVIES);
+                fire(ModelChangeEvent.of(ModelChangeEvent.Type.REMOVED, movie));
+            }
+        }
+        deliverEvents();
     }
 
+    /**
+     * @return unmodifiable view of all performers, sorted by their ids.
+     */
     public Set<Performer> getPerformers() {
-        return performers;
+        return Collections.unmodifiableSet(performers);
     }
 
     public boolean addPerformer(Performer performer) {
-        return performers.add(performer);
+        boolean added;
+        synchronized (this) {
+            added = performers.add(performer);
+            if (added) {
+                performersById.put(performer.getId(), performer);
+                performerIds.markUsed(performer.getId());
+                linksChanged();
+                changed(PERFORMERS);
+                fire(ModelChangeEvent.of(ModelChangeEvent.Type.ADDED,
+                        performer));
+            }
+        }
+        deliverEvents();
+        return added;
+    }
+
+    /**
+     * Replaces all performers, e.g. after they were loaded from storage. Does
+     * not change the associations.
+     */
+    public void setPerformers(Collection<Performer> performers) {
+        synchronized (this) {
+            this.performers.clear();
+            performersById.clear();
+            linksChanged();
+            changed(PERFORMERS);
+            performers.forEach(performer -> {
+                if (this.performers.add(performer)) {
+                    performersById.put(performer.getId(), performer);
+                    performerIds.markUsed(performer.getId());
+                }
+            });
+            fire(ModelChangeEvent.reset(Performer.class));
+        }
+        deliverEvents();
     }
 
     public void removePerformer(Performer performer) {
-        List<Movie> linkedMovies = performer.getMovies();
-        linkedMovies.forEach(movie -> movie.unlink(performer));
-        performers.remove(performer);
+        synchronized (this) {
+            for (int movieId : movieIdsOfPerformers.neighbors(
+                    performer.getId())) {
+                unlink(movieId, performer.getId());
+            }
+            if (performers.remove(performer)) {
+                performersById.remove(performer.getId());
+                linksChanged();
+                changed(PERFORMERS);
+                fire(ModelChangeEvent.of(ModelChangeEvent.Type.REMOVED,
+                        performer));
+            }
+        }
+        deliverEvents();
     }
 
-    public Multimap<Movie, Performer> getMoviePerformerAssociations() {
-        return moviePerformerAssociations;
+    /**
+     * @return allocator of the ids of new {@link Movie}s.
+     */
+    public IdAllocator getMovieIds() {
+        return movieIds;
+    }
+
+    /**
+     * @return allocator of the ids of new {@link Performer}s.
+     */
+    public IdAllocator getPerformerIds() {
+        return performerIds;
+    }
+
+    /**
+     * Copies the associations into a multimap, e.g. to store them. Costs
+     * O(number of links), use {@link #getPerformersOf(Movie)} and {@link
+     * #getMoviesOf(Performer)} to look up the links of one object.
+     *
+     * @return new multimap with the performers per movie.
+     */
+    public synchronized Multimap<Movie, Performer>
+    getMoviePerformerAssociations() {
+        // @decision HashMultimaps are used because they prevent duplicated
+        // key-value pairs.
+        Multimap<Movie, Performer> associations = HashMultimap.create();
+        performerIdsOfMovies.forEachLink((movieId, performerId) -> {
+            Movie movie = find(movieId, moviesById, linkedMovies);
+            Performer performer = find(performerId, performersById,
+                    linkedPerformers);
+            if (movie != null && performer != null) {
+                associations.put(movie, performer);
+            }
+        });
+        return associations;
     }
 
+    /**
+     * Replaces all associations, e.g. after they were loaded from storage.
+     */
     public void setMoviePerformerAssociations(
             Multimap<Movie, Performer> moviePerformerAssociations) {
-        this.moviePerformerAssociations = moviePerformerAssociations;
+        synchronized (this) {
+            clearLinks();
+            moviePerformerAssociations.forEach(this::addLink);
+            synchronized (linkChanges) {
+                linkChanges.clear();
+            }
+            fire(ModelChangeEvent.reset(Movie.class));
+            fire(ModelChangeEvent.reset(Performer.class));
+        }
+        deliverEvents();
+    }
+
+    /**
+     * @return performers linked to the movie, in the order of their ids.
+     */
+    public synchronized List<Performer> getPerformersOf(Movie movie) {
+        return resolve(performerIdsOfMovies, movie.getId(), performersById,
+                linkedPerformers);
+    }
+
+    /**
+     * @return movies linked to the performer, in the order of their ids.
+     */
+    public synchronized List<Movie> getMoviesOf(Performer performer) {
+        return resolve(movieIdsOfPerformers, performer.getId(), moviesById,
+                linkedMovies);
+    }
+
+    private static <T> List<T> resolve(IntAdjacency links, int id,
+                                       IntObjectMap<T> objectsById,
+                                       IntObjectMap<T> linkedObjects) {
+        List<T> objects = new ArrayList<>(links.degree(id));
+        links.forEachNeighbor(id, neighborId -> {
+            T object = find(neighborId, objectsById, linkedObjects);
+            if (object != null) {
+                objects.add(object);
+            }
+        });
+        return objects;
+    }
+
+    /**
+     * @return object of the model or, if it was not added to the model, the
+     * linked object with the id.
+     */
+    private static <T> T find(int id, IntObjectMap<T> objectsById,
+                              IntObjectMap<T> linkedObjects) {
+        T object = objectsById.get(id);
+        return object != null ? object : linkedObjects.get(id);
+    }
+
+    /**
+     * @return true if the movie and the performer are linked.
+     */
+    public synchronized boolean isLinked(Movie movie, Performer performer) {
+        return performerIdsOfMovies.contains(movie.getId(), performer.getId());
+    }
+
+    /**
+     * @return true if the performer is linked to at least one movie.
+     */
+    public synchronized boolean hasMovies(Performer performer) {
+        return movieIdsOfPerformers.degree(performer.getId()) > 0;
+    }
+
+    /**
+     * Links the movie and the performer in both directions, see {@link
+     * Movie#link(Performer)}.
+     *
+     * @return true if they were not linked before.
+     */
+    boolean link(Movie movie, Performer performer) {
+        synchronized (this) {
+            if (!addLink(movie, performer)) {
+                return false;
+            }
+            synchronized (linkChanges) {
+                linkChanges.computeIfAbsent(movie.getId(),
+                        id -> new LinkChanges()).linked(performer.getId());
+            }
+            fire(ModelChangeEvent.ofLink(ModelChangeEvent.Type.LINKED,
+                    movie.getId(), performer.getId()));
+        }
+        deliverEvents();
+        return true;
+    }
+
+    /**
+     * Unlinks the movie and the performer in both directions, see {@link
+     * Movie#unlink(Performer)}.
+     *
+     * @return true if they were linked before.
+     */
+    boolean unlink(Movie movie, Performer performer) {
+        boolean unlinked;
+        synchronized (this) {
+            unlinked = unlink(movie.getId(), performer.getId());
+        }
+        deliverEvents();
+        return unlinked;
     }
 
-    public Optional<Movie> getMovieById(int id) {
-        return getObjectById(id, movies);
+    private boolean addLink(Movie movie, Performer performer) {
+        if (!performerIdsOfMovies.add(movie.getId(), performer.getId())) {
+            return false;
+        }
+        movieIdsOfPerformers.add(performer.getId(), movie.getId());
+        linkedMovies.put(movie.getId(), movie);
+        linkedPerformers.put(performer.getId(), performer);
+        if (performer.isRated()) {
+            addPerformerRating(movie.getId(), performer.getRating());
+        }
+        linksChanged();
+        changed(LINKS);
+        return true;
+    }
+
+    private boolean unlink(int movieId, int performerId) {
+        if (!performerIdsOfMovies.remove(movieId, performerId)) {
+            return false;
+        }
+        movieIdsOfPerformers.remove(performerId, movieId);
+        Performer performer = find(performerId, performersById,
+                linkedPerformers);
+        if (performer != null && performer.isRated()) {
+            removePerformerRating(movieId, performer.getRating());
+        }
+        if (performerIdsOfMovies.degree(movieId) == 0) {
+            linkedMovies.remove(movieId);
+        }
+        if (movieIdsOfPerformers.degree(performerId) == 0) {
+            linkedPerformers.remove(performerId);
+        }
+        linksChanged();
+        changed(LINKS);
+        synchronized (linkChanges) {
+            linkChanges.computeIfAbsent(movieId, id -> new LinkChanges())
+                    .unlinked(performerId);
+        }
+        fire(ModelChangeEvent.ofLink(ModelChangeEvent.Type.UNLINKED, movieId,
+                performerId));
+        return true;
+    }
+
+    /**
+     * Returns the links that changed since the last call of this method and
+     * forgets them. Used to store only the changed associations.
+     *
+     * @return changed links per movie id, empty if no link changed.
+     */
+    public Map<Integer, LinkChanges> drainLinkChanges() {
+        Map<Integer, LinkChanges> changes = new HashMap<>();
+        synchronized (linkChanges) {
+            linkChanges.forEach((movieId, changesOfMovie) -> {
+                if (!changesOfMovie.isEmpty()) {
+                    changes.put(movieId, changesOfMovie);
+                }
+            });
+            linkChanges.clear();
+        }
+        return changes;
+    }
+
+    /**
+     * @return true if links changed since the associations were stored the
+     * last time.
+     */
+    public boolean hasLinkChanges() {
+        synchronized (linkChanges) {
+            return linkChanges.values().stream()
+                    .anyMatch(changes -> !changes.isEmpty());
+        }
+    }
+
+    private void clearLinks() {
+        performerIdsOfMovies.clear();
+        movieIdsOfPerformers.clear();
+        linkedMovies.clear();
+        linkedPerformers.clear();
+        performerRatingsOfMovies.clear();
+        linksChanged();
+        changed(LINKS);
     }
 
-    public Optional<Performer> getPerformerById(int id) {
-        return getObjectById(id, performers);
+    /**
+     * @return modification counter that changes whenever a link, a data
+     * object or the name of a data object changes. Used to invalidate cached
+     * views of the links.
+     */
+    public int getLinkVersion() {
+        return linkVersion.get();
     }
 
     /**
-     * Returns an object in a set of {@link Movie}s or {@link Performer}s by its id.
+     * Invalidates the cached views of the links, e.g. after a data object was
+     * renamed.
+     */
+    void linksChanged() {
+        linkVersion.incrementAndGet();
+    }
+
+    private void changed(int parts) {
+        changedParts |= parts;
+        version++;
+    }
+
+    /**
+     * Provides an immutable state of the model for readers on other threads,
+     * e.g. to store, sort or search the data objects without locks while the
+     * model is changed.
      *
-     * @param id  of the object as an integer, e.g. 0.
-     * @param set of {@link Movie}s or {@link Performer}s
-     * @param <T> class that implements {@link Identifiable} interface, e.g.,
-     *            {@link Movie} or {@link Performer}.
-     * @return object in a set by its id
+     * @return the same state as long as the model does not change, otherwise
+     * a new state. Parts that did not change are shared with the previous
+     * state.
+     */
+    public ModelState getState() {
+        ModelState current = state.get();
+        if (current.getVersion() == version) {
+            return current;
+        }
+        synchronized (this) {
+            current = state.get();
+            if (current.getVersion() == version) {
+                return current;
+            }
+            ImmutableList<Movie> movieList = (changedParts & MOVIES) != 0 ?
+                    ImmutableList.copyOf(movies) : current.getMovieList();
+            ImmutableList<Performer> performerList =
+                    (changedParts & PERFORMERS) != 0 ?
+                            ImmutableList.copyOf(performers) :
+                            current.getPerformerList();
+            long[] links = (changedParts & LINKS) != 0 ? copyLinks() :
+                    current.getLinks();
+            current = new ModelState(version, movieList, performerList,
+                    links);
+            state.set(current);
+            changedParts = 0;
+            return current;
+        }
+    }
+
+    private long[] copyLinks() {
+        long[] links = new long[performerIdsOfMovies.size()];
+        int[] size = {0};
+        performerIdsOfMovies.forEachLink((movieId, performerId) ->
+                links[size[0]++] = ModelState.link(movieId, performerId));
+        // the nodes of the adjacency are not sorted, only their neighbors
+        Arrays.sort(links);
+        return links;
+    }
+
+    /**
+     * Updates the performer ratings of all movies that are linked to the
+     * performer, see {@link Performer#setRating(double)}, and notifies the
+     * listeners that these movies were updated. Ignores other instances with
+     * the same id, e.g. performers that are read from the storage to load the
+     * details of a summary.
      */
-    private <T> Optional<T> getObjectById(int id, Set<T> set) {
-        Optional<T> opt = Optional.empty();
-        for (T object : set) {
-            if (((Identifiable) object).getId() == id) {
-                opt = Optional.of(object);
+    void performerRatingChanged(Performer performer, double oldRating) {
+        synchronized (this) {
+            if (find(performer.getId(), performersById, linkedPerformers)
+                    != performer) {
+                return;
             }
+            movieIdsOfPerformers.forEachNeighbor(performer.getId(),
+                    movieId -> {
+                        if (oldRating >= 0) {
+                            removePerformerRating(movieId, oldRating);
+                        }
+                        if (performer.isRated()) {
+                            addPerformerRating(movieId,
+                                    performer.getRating());
+                        }
+                        // the overall rating of the movie changed
+                        fire(ModelChangeEvent.of(ModelChangeEvent.Type.UPDATED,
+                                Movie.class, movieId));
+                    });
+        }
+        deliverEvents();
+    }
+
+    /**
+     * @return average rating of the rated performers of the movie or -1 if no
+     * linked performer is rated. Costs O(1).
+     */
+    public synchronized double getAveragePerformerRating(Movie movie) {
+        RatingSum ratings = performerRatingsOfMovies.get(movie.getId());
+        return ratings == null ? -1. : ratings.sum / ratings.count;
+    }
+
+    private void addPerformerRating(int movieId, double rating) {
+        RatingSum ratings = performerRatingsOfMovies.get(movieId);
+        if (ratings == null) {
+            ratings = new RatingSum();
+            performerRatingsOfMovies.put(movieId, ratings);
+        }
+        ratings.sum += rating;
+        ratings.count++;
+    }
+
+    private void removePerformerRating(int movieId, double rating) {
+        RatingSum ratings = performerRatingsOfMovies.get(movieId);
+        if (ratings == null) {
+            return;
+        }
+        ratings.sum -= rating;
+        ratings.count--;
+        if (ratings.count == 0) {
+            // also discards rounding errors of the sum
+            performerRatingsOfMovies.remove(movieId);
         }
-        return opt;
+    }
+
+    /**
+     * @param id of the movie as an integer, e.g. 0.
+     * @return movie with the id, looked up in constant time.
+     */
+    public synchronized Optional<Movie> getMovieById(int id) {
+        return Optional.ofNullable(moviesById.get(id));
+    }
+
+    /**
+     * @param id of the performer as an integer, e.g. 0.
+     * @return performer with the id, looked up in constant time.
+     */
+    public synchronized Optional<Performer> getPerformerById(int id) {
+        return Optional.ofNullable(performersById.get(id));
     }
 
     /**
      * Removes all objects and their associations in the entire movie manager.
      */
     public void clear() {
-        movies.clear();
-        performers.clear();
+        synchronized (this) {
+            movies.clear();
+            moviesById.clear();
+            movieIds.clear();
+            performers.clear();
+            performersById.clear();
+            performerIds.clear();
+            changed(MOVIES | PERFORMERS);
+
+            clearLinks();
+            synchronized (linkChanges) {
+                linkChanges.clear();
+            }
+            fire(ModelChangeEvent.reset(Movie.class));
+            fire(ModelChangeEvent.reset(Performer.class));
+        }
+        deliverEvents();
+    }
+
+    /**
+     * Registers a listener that is notified of every change of the model,
+     * e.g. to update a list in the UI incrementally.
+     */
+    public void addChangeListener(ModelChangeListener listener) {
+        changeListeners.add(listener);
+    }
 
-        moviePerformerAssociations.clear();
+    public void removeChangeListener(ModelChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Notifies the listeners that attributes of the object changed, e.g.
+     * after the user edited and saved it. Setters do not notify the
+     * listeners themselves, so that a sequence of changes is announced once.
+     *
+     * @param object {@link Movie} or {@link Performer} of the model.
+     */
+    public void notifyUpdated(ModelObjectWithImage object) {
+        synchronized (this) {
+            fire(ModelChangeEvent.of(ModelChangeEvent.Type.UPDATED, object));
+        }
+        deliverEvents();
+    }
+
+    /**
+     * Queues the event until the lock of the model is released, see {@link
+     * #deliverEvents()}. Must be called while the lock is held.
+     */
+    private void fire(ModelChangeEvent event) {
+        pendingEvents.add(event);
+    }
+
+    /**
+     * Notifies the listeners of the queued events in the order in which they
+     * were fired. Does nothing while the lock of the model is held, the
+     * events are delivered by the outermost change instead.
+     */
+    private void deliverEvents() {
+        if (Thread.holdsLock(this)) {
+            return;
+        }
+        // @decision Listeners are notified without the lock of the model,
+        // because they lock their own state and read the model, e.g. the
+        // NameIndex, which would otherwise deadlock with a thread that holds
+        // their lock and waits for the model.
+        synchronized (deliveryLock) {
+            List<ModelChangeEvent> events;
+            synchronized (this) {
+                if (pendingEvents.isEmpty()) {
+                    return;
+                }
+                events = new ArrayList<>(pendingEvents);
+                pendingEvents.clear();
+            }
+            for (ModelChangeEvent event : events) {
+                for (ModelChangeListener listener : changeListeners) {
+                    listener.onModelChanged(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sum and number of ratings.
+     */
+    private static final class RatingSum {
+        private double sum;
+        private int count;
     }
 }
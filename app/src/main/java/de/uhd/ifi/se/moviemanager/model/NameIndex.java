@@ -0,0 +1,209 @@
+package de.uhd.ifi.se.moviemanager.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import de.uhd.ifi.se.moviemanager.util.IntAdjacency;
+import de.uhd.ifi.se.moviemanager.util.IntObjectMap;
+
+/**
+ * Inverted index from the character bigrams and characters of the names to
+ * the data objects, e.g. to the {@link Movie}s. Provides the candidates of a
+ * fuzzy search, so that only the candidates are scored and not every object.
+ * The index is built once and follows the changes of the {@link
+ * MovieManagerModel}.
+ *
+ * @param <T> {@link Movie} or {@link Performer}.
+ */
+public final class NameIndex<T extends Identifiable & Nameable> {
+    private static final MovieManagerModel model = MovieManagerModel
+            .getInstance();
+    private static NameIndex<Movie> movieIndex;
+    private static NameIndex<Performer> performerIndex;
+
+    private final Class<T> objectClass;
+    private final IntFunction<Optional<T>> lookup;
+    private final Supplier<Collection<T>> allObjects;
+
+    // ids of the objects per gram, see bigramOf and characterOf
+    // @decision The grams are encoded as ints, so that the index reuses the
+    // adjacency arrays of the links instead of a map of strings to sets.
+    private final IntAdjacency idsByGram = new IntAdjacency();
+    // indexed objects and their indexed names by id, the names are needed to
+    // remove the grams after a rename
+    private final IntObjectMap<T> objects = new IntObjectMap<>();
+    private final IntObjectMap<String> indexedNames = new IntObjectMap<>();
+    // number of updates, to detect updates during a rebuild
+    private int updates;
+
+    private NameIndex(Class<T> objectClass, IntFunction<Optional<T>> lookup,
+                      Supplier<Collection<T>> allObjects) {
+        this.objectClass = objectClass;
+        this.lookup = lookup;
+        this.allObjects = allObjects;
+    }
+
+    /**
+     * @return index of the names of all movies of the model.
+     */
+    public static synchronized NameIndex<Movie> getMovieIndex() {
+        if (movieIndex == null) {
+            movieIndex = create(Movie.class, model::getMovieById,
+                    () -> model.getState().getMovies());
+        }
+        return movieIndex;
+    }
+
+    /**
+     * @return index of the names of all performers of the model.
+     */
+    public static synchronized NameIndex<Performer> getPerformerIndex() {
+        if (performerIndex == null) {
+            performerIndex = create(Performer.class, model::getPerformerById,
+                    () -> model.getState().getPerformers());
+        }
+        return performerIndex;
+    }
+
+    private static <T extends Identifiable & Nameable> NameIndex<T> create(
+            Class<T> objectClass, IntFunction<Optional<T>> lookup,
+            Supplier<Collection<T>> allObjects) {
+        NameIndex<T> index = new NameIndex<>(objectClass, lookup, allObjects);
+        // registered before the objects are indexed, so that no change is
+        // missed
+        model.addChangeListener(index::onModelChanged);
+        index.rebuild();
+        return index;
+    }
+
+    private void onModelChanged(ModelChangeEvent event) {
+        if (!event.getObjectClass().equals(objectClass)) {
+            return;
+        }
+        switch (event.getType()) {
+            case ADDED:
+            case UPDATED:
+            case REMOVED:
+                update(event.getId());
+                break;
+            case RESET:
+                rebuild();
+                break;
+            default:
+                // links do not change names
+        }
+    }
+
+    private void rebuild() {
+        // @decision The objects are read before the index is locked, because
+        // reading them locks the model, which would deadlock with a change of
+        // the model that waits for the index. If the index is updated in
+        // between, the read objects may be outdated and are read again.
+        while (true) {
+            int seenUpdates;
+            synchronized (this) {
+                seenUpdates = updates;
+            }
+            Collection<T> current = allObjects.get();
+            synchronized (this) {
+                if (updates == seenUpdates) {
+                    idsByGram.clear();
+                    objects.clear();
+                    indexedNames.clear();
+                    current.forEach(this::add);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexes the object with the id again, e.g. after it was renamed, or
+     * removes it if it is not part of the model anymore.
+     */
+    synchronized void update(int id) {
+        updates++;
+        remove(id);
+        lookup.apply(id).ifPresent(this::add);
+    }
+
+    private void add(T object) {
+        String name = normalize(object.getName());
+        objects.put(object.getId(), object);
+        indexedNames.put(object.getId(), name);
+        forEachGram(name, gram -> idsByGram.add(gram, object.getId()));
+    }
+
+    private void remove(int id) {
+        String name = indexedNames.remove(id);
+        if (name != null) {
+            forEachGram(name, gram -> idsByGram.remove(gram, id));
+        }
+        objects.remove(id);
+    }
+
+    /**
+     * @param query         e.g. the text in a search box.
+     * @param minCandidates number of candidates that a search needs, e.g. the
+     *                      number of shown results.
+     * @return objects whose names share a bigram with the query, case is
+     * ignored. If they are fewer than minCandidates, or the query is a single
+     * character, objects that share a character with the query.
+     */
+    public synchronized List<T> getCandidates(String query,
+                                              int minCandidates) {
+        String normalized = normalize(query);
+        IntObjectMap<T> candidates = new IntObjectMap<>();
+        for (int i = 0; i + 1 < normalized.length(); i++) {
+            addCandidates(bigramOf(normalized.charAt(i),
+                    normalized.charAt(i + 1)), candidates);
+        }
+        if (candidates.size() < minCandidates) {
+            for (int i = 0; i < normalized.length(); i++) {
+                addCandidates(characterOf(normalized.charAt(i)), candidates);
+            }
+        }
+        List<T> result = new ArrayList<>(candidates.size());
+        candidates.forEach((object, id) -> result.add(object));
+        return result;
+    }
+
+    private void addCandidates(int gram, IntObjectMap<T> candidates) {
+        idsByGram.forEachNeighbor(gram,
+                id -> candidates.put(id, objects.get(id)));
+    }
+
+    /**
+     * @return number of indexed objects.
+     */
+    public synchronized int size() {
+        return objects.size();
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase();
+    }
+
+    private static void forEachGram(String name, IntConsumer action) {
+        for (int i = 0; i < name.length(); i++) {
+            action.accept(characterOf(name.charAt(i)));
+            if (i + 1 < name.length()) {
+                action.accept(bigramOf(name.charAt(i), name.charAt(i + 1)));
+            }
+        }
+    }
+
+    private static int bigramOf(char first, char second) {
+        return first << 16 | second;
+    }
+
+    private static int characterOf(char character) {
+        // the unused character U+FFFF marks single characters
+        return bigramOf('\uFFFF', character);
+    }
+}
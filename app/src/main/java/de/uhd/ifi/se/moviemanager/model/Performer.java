@@ -18,19 +18,26 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
 
 import de.uhd.ifi.se.moviemanager.util.DateUtils;
+import de.uhd.ifi.se.moviemanager.util.VersionedCache;
 
 /**
  * Data class which models a performer in one or more {@link Movie}s.
  */
 public class Performer extends ModelObjectWithImage implements Rateable {
+    // bits in the mask of dirty fields, see ModelObjectWithImage
+    public static final int BIRTH_NAME_FIELD = 1 << 2;
+    public static final int BIOGRAPHY_FIELD = 1 << 3;
+    public static final int DATE_OF_BIRTH_FIELD = 1 << 4;
+    public static final int OCCUPATIONS_FIELD = 1 << 5;
+    public static final int RATING_FIELD = 1 << 6;
     private String birthName;
     private String biography;
     private Date dateOfBirth;
     private List<String> occupations;
     private double rating;
+    private final VersionedCache<Movie> sortedMovies = new VersionedCache<>();
 
     @JsonCreator
     public Performer(@JsonProperty("id") int id) {
@@ -40,9 +47,10 @@ public class Performer extends ModelObjectWithImage implements Rateable {
         dateOfBirth = null;
         occupations = new ArrayList<>();
         rating = -1.;
+        // @decision Deserialized objects pass their id, only new objects
+        // allocate one.
         if (getId() <= -1) {
-            int freeId = Identifiable.findFreeId(model.getPerformers());
-            setId(freeId);
+            setId(model.getPerformerIds().allocate());
         }
     }
 
@@ -87,14 +95,18 @@ public class Performer extends ModelObjectWithImage implements Rateable {
     }
 
     public void setBirthName(String birthName) {
+        markDirtyIfChanged(BIRTH_NAME_FIELD, this.birthName, birthName);
         this.birthName = birthName;
     }
 
     public String getBiography() {
+        ensureHydrated();
         return biography;
     }
 
     public void setBiography(String biography) {
+        ensureHydrated();
+        markDirtyIfChanged(BIOGRAPHY_FIELD, this.biography, biography);
         this.biography = biography;
     }
 
@@ -103,7 +115,10 @@ public class Performer extends ModelObjectWithImage implements Rateable {
     }
 
     public void setDateOfBirth(Date dateOfBirth) {
-        this.dateOfBirth = normDate(dateOfBirth);
+        Date normedDateOfBirth = normDate(dateOfBirth);
+        markDirtyIfChanged(DATE_OF_BIRTH_FIELD, this.dateOfBirth,
+                normedDateOfBirth);
+        this.dateOfBirth = normedDateOfBirth;
     }
 
     @JsonIgnore
@@ -115,16 +130,31 @@ public class Performer extends ModelObjectWithImage implements Rateable {
     }
 
     public List<String> getOccupations() {
+        ensureHydrated();
         return occupations;
     }
 
     public void setOccupations(List<String> occupations) {
+        ensureHydrated();
+        markDirtyIfChanged(OCCUPATIONS_FIELD, this.occupations, occupations);
         this.occupations = occupations;
     }
 
+    @Override
+    protected void copyDetailsFrom(ModelObjectWithImage complete) {
+        Performer performer = (Performer) complete;
+        biography = performer.biography;
+        occupations = performer.occupations;
+    }
+
     @Override
     public void setRating(double rating) {
+        double oldRating = this.rating;
+        markDirtyIfChanged(RATING_FIELD, oldRating, rating);
         this.rating = rating;
+        if (oldRating != rating) {
+            model.performerRatingChanged(this, oldRating);
+        }
     }
 
     @Override
@@ -132,26 +162,24 @@ public class Performer extends ModelObjectWithImage implements Rateable {
         return rating;
     }
 
+    /**
+     * @return unmodifiable list of the linked movies sorted by their names.
+     * The list is cached until a link or a name changes.
+     */
     @JsonIgnore
     public List<Movie> getMovies() {
-        List<Movie> movies = new ArrayList<>();
-        for (Map.Entry<Movie, Performer> entry : model
-                .getMoviePerformerAssociations().entries()) {
-            if (equals(entry.getValue())) {
-                movies.add(entry.getKey());
-            }
-        }
-        return movies.stream()
-                .sorted(comparing(Movie::getName, String::compareToIgnoreCase))
-                .collect(toList());
+        return sortedMovies.get(model.getLinkVersion(),
+                () -> model.getMoviesOf(this).stream()
+                        .sorted(comparing(Movie::getName,
+                                String::compareToIgnoreCase))
+                        .collect(toList()));
     }
 
     /**
      * @return true if the performer has at least one linked movie.
      */
     public boolean hasOneOrMoreMoviesLinked() {
-        List<Movie> movies = getMovies();
-        return !movies.isEmpty();
+        return model.hasMovies(this);
     }
 
     public boolean isPerformerIn(Movie movie) {
@@ -216,6 +244,7 @@ public class Performer extends ModelObjectWithImage implements Rateable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
+        ensureHydrated();
         super.writeToParcel(dest, flags);
         dest.writeString(birthName);
         dest.writeString(biography);
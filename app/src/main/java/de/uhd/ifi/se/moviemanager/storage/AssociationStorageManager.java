@@ -1,6 +1,6 @@
 package de.uhd.ifi.se.moviemanager.storage;
 
-import static java.util.Arrays.asList;
+import static java.lang.String.format;
 
 import android.util.Log;
 
@@ -12,13 +12,23 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.RandomAccessFile;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 
 import de.uhd.ifi.se.moviemanager.model.Identifiable;
@@ -30,6 +40,18 @@ import de.uhd.ifi.se.moviemanager.util.FileUtils;
  * Manages the persistence of associations between data objects, e.g., between
  * {@link Movie}s and {@link Performer}s. Associations are stored in guava
  * Multimaps.
+ * <p>
+ * The associations are stored as fixed-width pairs of ids in a binary file,
+ * e.g. "movie-performer.bin". The file consists of a header, a sorted base
+ * section and an append-only delta section. Every save only appends the pairs
+ * that were added or removed since the last save. When the delta section
+ * becomes larger than the base section, the file is compacted, i.e., rewritten
+ * with all current pairs as the new base section. The file is read through a
+ * {@link MappedByteBuffer}.
+ * <p>
+ * Layout: magic (int), version (int), number of base pairs (int), reserved
+ * (int), base pairs (int left id, int right id), delta pairs (int left id or
+ * its bitwise complement for removed pairs, int right id).
  *
  * @param <L> keys of the map, e.g. {@link Movie}s.
  * @param <R> values of the map, e.g. {@link Performer}s.
@@ -37,22 +59,39 @@ import de.uhd.ifi.se.moviemanager.util.FileUtils;
 public class AssociationStorageManager<L extends Identifiable,
         R extends Identifiable> {
 
+    private static final int MAGIC = 0x4D4D4153; // "MMAS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int PAIR_SIZE = 8;
+    static final int MIN_DELTAS_FOR_COMPACTION = 1024;
+
     // directory in which the associations files are stored:
     // "movie_manager/associations"
     private final File directory;
 
-    // file name of the JSON file in that the associations are stored, e.g.
+    // file name of the file in that the associations are stored, e.g.
     // "movie-performer".
     private final String identifier;
     private final Function<Integer, L> leftIdUnmapper;
     private final Function<Integer, R> rightIdUnmapper;
 
+    // pairs of ids that are currently stored in the file, encoded as longs
+    // (see #pair(int, int)), null until the file was read
+    private Set<Long> storedPairs;
+    private int basePairCount;
+    private int deltaPairCount;
+    // length of the valid part of the file
+    private long validLength;
+    // number of bytes written by this instance, used to verify that the I/O
+    // scales with the number of changed pairs
+    private long bytesWritten;
+
     /**
      * Constructor for an AssociationStorageManager for one multimap of
      * associations.
      *
-     * @param identifier      file name of the JSON file in that the
-     *                        associations are stored, e.g. "movie-performer".
+     * @param identifier      file name of the file in that the associations
+     *                        are stored, e.g. "movie-performer".
      * @param leftIdUnmapper  method to get the key object by its id, e.g.
      *                        getMovieById().
      * @param rightIdUnmapper method to get the value object by its id, e.g.
@@ -69,62 +108,258 @@ public class AssociationStorageManager<L extends Identifiable,
     }
 
     /**
-     * Saves the associations in a JSON file.
+     * Saves the associations. Only the pairs that differ from the stored pairs
+     * are written.
      */
-    public void saveToStorage(Multimap<L, R> multimap) {
+    public synchronized void saveToStorage(Multimap<L, R> multimap) {
+        Set<Long> currentPairs = new HashSet<>();
+        for (Entry<L, R> entry : multimap.entries()) {
+            if (Objects.nonNull(entry.getValue())) {
+                currentPairs.add(pair(entry.getKey().getId(),
+                        entry.getValue().getId()));
+            }
+        }
+        ensureRead();
+        Set<Long> added = new HashSet<>(currentPairs);
+        added.removeAll(storedPairs);
+        Set<Long> removed = new HashSet<>(storedPairs);
+        removed.removeAll(currentPairs);
+        if (!saveChanges(added, removed)) {
+            Log.e("saveToStorage", "Associations could not be saved.");
+        }
+    }
+
+    /**
+     * Appends the changed pairs of ids to the file.
+     *
+     * @param added   pairs that were linked, see {@link #pair(int, int)}.
+     * @param removed pairs that were unlinked, see {@link #pair(int, int)}.
+     * @return true if the changes were written successfully.
+     */
+    synchronized boolean saveChanges(Collection<Long> added,
+                                     Collection<Long> removed) {
+        ensureRead();
+        if (added.isEmpty() && removed.isEmpty()) {
+            return true;
+        }
         try {
-            List<JSONObject> mappedAssociations = new ArrayList<>();
-            for (Entry<L, R> entry : multimap.entries()) {
-                if (Objects.nonNull(entry.getValue())) {
-                    int idOfLeftObject = entry.getKey().getId();
-                    int idOfRightObject = entry.getValue().getId();
-                    JSONObject jsonObject = new JSONObject();
-                    jsonObject.put("first", idOfLeftObject);
-                    jsonObject.put("second", idOfRightObject);
-                    mappedAssociations.add(jsonObject);
+            File file = getFile();
+            if (!file.exists() || validLength < HEADER_SIZE) {
+                storedPairs.removeAll(removed);
+                storedPairs.addAll(added);
+                writeCompacted();
+                return true;
+            }
+            if (file.length() != validLength) {
+                try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                    raf.setLength(validLength);
+                }
+            }
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(
+                            new FileOutputStream(file, true)))) {
+                for (long pair : removed) {
+                    if (storedPairs.remove(pair)) {
+                        out.writeInt(~leftId(pair));
+                        out.writeInt(rightId(pair));
+                        deltaPairCount++;
+                    }
+                }
+                for (long pair : added) {
+                    if (storedPairs.add(pair)) {
+                        out.writeInt(leftId(pair));
+                        out.writeInt(rightId(pair));
+                        deltaPairCount++;
+                    }
                 }
             }
-            if (!mappedAssociations.isEmpty()) {
-                JSONArray array = new JSONArray(mappedAssociations);
-                List<String> lines = asList(array.toString(2).split("\n"));
-                File file = new File(
-                        directory + File.separator + identifier + ".json");
-                FileUtils.writeLines(file, lines);
+            bytesWritten += file.length() - validLength;
+            validLength = file.length();
+            if (deltaPairCount >= MIN_DELTAS_FOR_COMPACTION &&
+                    deltaPairCount > basePairCount) {
+                writeCompacted();
             }
-        } catch (JSONException | IOException e) {
+        } catch (IOException e) {
             Log.e("saveToStorage",
                     "Writing to directory " + directory + " failed.\n" + e);
+            // the file content is unknown now, read it again next time
+            storedPairs = null;
+            return false;
         }
+        return true;
     }
 
     /**
-     * Loads the associations from a JSON file into a {@link Multimap} object.
+     * Loads the associations from the file into a {@link Multimap} object.
+     * Pairs whose objects cannot be found are skipped.
      *
      * @return {@link Multimap} of data objects, e.g. {@link Movie}s and {@link
      * Performer}s.
      */
-    public Multimap<L, R> loadFromStorage() {
+    public synchronized Multimap<L, R> loadFromStorage() {
+        storedPairs = null;
+        ensureRead();
         Multimap<L, R> multimap = HashMultimap.create();
-        try {
-            List<String> lines = FileUtils.readAllLines(
-                    FileUtils.resolve(directory, identifier + ".json"));
-            Multimap<Integer, Integer> mapping = loadMappings(lines);
-            for (Entry<Integer, Integer> entry : mapping.entries()) {
-                L obj1 = leftIdUnmapper.apply(entry.getKey());
-                R obj2 = rightIdUnmapper.apply(entry.getValue());
+        for (long pair : storedPairs) {
+            try {
+                L obj1 = leftIdUnmapper.apply(leftId(pair));
+                R obj2 = rightIdUnmapper.apply(rightId(pair));
                 if (obj1 != null && obj2 != null) {
                     multimap.put(obj1, obj2);
                 }
+            } catch (NullPointerException | NoSuchElementException e) {
+                Log.d("loadFromStorage", format(
+                        "Association %d-%d could not be resolved: %s",
+                        leftId(pair), rightId(pair), e));
+            }
+        }
+        return multimap;
+    }
+
+    /**
+     * @return number of pairs in the delta section of the file.
+     */
+    synchronized int getDeltaPairCount() {
+        return deltaPairCount;
+    }
+
+    /**
+     * @return number of bytes that this instance has written so far.
+     */
+    synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private File getFile() {
+        return new File(directory, identifier + ".bin");
+    }
+
+    private File getLegacyFile() {
+        return new File(directory, identifier + ".json");
+    }
+
+    private void ensureRead() {
+        if (storedPairs != null) {
+            return;
+        }
+        storedPairs = new HashSet<>();
+        basePairCount = 0;
+        deltaPairCount = 0;
+        validLength = 0;
+        try {
+            if (getFile().exists()) {
+                readBinaryFile();
+            } else if (getLegacyFile().exists()) {
+                migrateLegacyFile();
             }
-        } catch (JSONException | IOException | NullPointerException | NoSuchElementException e) {
+        } catch (IOException e) {
             Log.d("loadFromStorage",
                     "Associations could not be read from file: " + e);
         }
-        return multimap;
+    }
+
+    private void readBinaryFile() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(getFile(), "r");
+             FileChannel channel = raf.getChannel()) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                Log.e("readBinaryFile", "Truncated header in " + getFile());
+                return;
+            }
+            MappedByteBuffer buffer = channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0, size);
+            IntBuffer ints = buffer.asIntBuffer();
+            int basePairs = ints.get(2);
+            if (ints.get(0) != MAGIC || ints.get(1) != VERSION ||
+                    basePairs < 0 ||
+                    HEADER_SIZE + (long) basePairs * PAIR_SIZE > size) {
+                Log.e("readBinaryFile", "Invalid header in " + getFile());
+                return;
+            }
+            int pairs = (int) ((size - HEADER_SIZE) / PAIR_SIZE);
+            ints.position(HEADER_SIZE / Integer.BYTES);
+            for (int i = 0; i < pairs; i++) {
+                int left = ints.get();
+                int right = ints.get();
+                if (left >= 0) {
+                    storedPairs.add(pair(left, right));
+                } else {
+                    storedPairs.remove(pair(~left, right));
+                }
+            }
+            basePairCount = basePairs;
+            deltaPairCount = pairs - basePairs;
+            validLength = HEADER_SIZE + (long) pairs * PAIR_SIZE;
+        }
+    }
+
+    private void migrateLegacyFile() throws IOException {
+        try {
+            Multimap<Integer, Integer> mapping = loadMappings(
+                    FileUtils.readAllLines(getLegacyFile()));
+            for (Entry<Integer, Integer> entry : mapping.entries()) {
+                storedPairs.add(pair(entry.getKey(), entry.getValue()));
+            }
+        } catch (JSONException e) {
+            throw new IOException(e);
+        }
+        writeCompacted();
+        FileUtils.delete(getLegacyFile());
+    }
+
+    /**
+     * Rewrites the file with all stored pairs as base section. The new file is
+     * written to a temporary file first and renamed afterwards.
+     */
+    private void writeCompacted() throws IOException {
+        long[] pairs = new long[storedPairs.size()];
+        int i = 0;
+        for (long pair : storedPairs) {
+            pairs[i++] = pair;
+        }
+        Arrays.sort(pairs);
+
+        File file = getFile();
+        FileUtils.createDirectory(file);
+        File temporary = new File(directory, file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(pairs.length);
+            out.writeInt(0);
+            for (long pair : pairs) {
+                out.writeInt(leftId(pair));
+                out.writeInt(rightId(pair));
+            }
+        }
+        if (!temporary.renameTo(file)) {
+            FileUtils.delete(temporary);
+            throw new IOException("Couldn't rename " + temporary);
+        }
+        basePairCount = pairs.length;
+        deltaPairCount = 0;
+        validLength = file.length();
+        bytesWritten += validLength;
     }
 
     /**
-     * @param lines of the json file that stores the associations.
+     * Encodes a pair of ids as one long value.
+     */
+    static long pair(int leftId, int rightId) {
+        return ((long) leftId << 32) | (rightId & 0xFFFFFFFFL);
+    }
+
+    static int leftId(long pair) {
+        return (int) (pair >>> 32);
+    }
+
+    static int rightId(long pair) {
+        return (int) pair;
+    }
+
+    /**
+     * @param lines of the legacy json file that stores the associations.
      * @return multimap of the guava package. A multimap allows to insert a key
      * more than once. This is important since, for example, a {@link Movie} can
      * be linked to two different {@link Performer}s.
@@ -145,4 +380,3 @@ public class AssociationStorageManager<L extends Identifiable,
         return idMap;
     }
 }
-
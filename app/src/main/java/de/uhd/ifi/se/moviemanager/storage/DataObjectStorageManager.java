@@ -16,6 +16,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import de.uhd.ifi.se.moviemanager.model.Identifiable;
 import de.uhd.ifi.se.moviemanager.model.Movie;
@@ -26,7 +28,8 @@ import de.uhd.ifi.se.moviemanager.util.FileUtils;
  * Manages the persistence of single data objects, e.g., of {@link Movie}s and
  * {@link Performer}s.
  */
-public class DataObjectStorageManager<T extends Identifiable> {
+public class DataObjectStorageManager<T extends Identifiable>
+        implements DataObjectStore<T> {
 
     // class of the objects to be stored, e.g. Movie.class
     private final Class<T> modelClass;
@@ -37,6 +40,10 @@ public class DataObjectStorageManager<T extends Identifiable> {
     // contains all JSON files, e.g. "movie_0.json, movie_1.json, ..."
     private final Set<File> files;
 
+    // @decision The mapper is thread-safe and expensive to create, so it is
+    // shared by all reads and writes of this storage manager.
+    private final ObjectMapper mapper = createObjectMapper();
+
     public DataObjectStorageManager(File homeDirectory, Class<T> modelClass) {
         this.modelClass = modelClass;
         directory = new File(
@@ -56,24 +63,26 @@ public class DataObjectStorageManager<T extends Identifiable> {
      * @param object e.g. {@link Movie} or {@link Performer} object to be saved
      *               in a JSON file.
      */
-    public void saveToStorage(T object) {
+    @Override
+    public boolean saveToStorage(T object) {
         String fileName = createFileNameFor(object);
         File file = new File(directory + File.separator + fileName);
         try {
             if (!file.createNewFile())
                 Log.i("saveToStorage", "File already exists: " + file);
-            ObjectMapper mapper = getObjectMapper();
             mapper.writerWithDefaultPrettyPrinter().writeValue(file, object);
+            return true;
         } catch (IOException e) {
             Log.e("saveToStorage", String.valueOf(e));
+            return false;
         }
     }
 
     /**
      * @return configured {@link ObjectMapper} to write and read data objects
-     * from JSON files.
+     * from JSON files. Also used by the {@link JournalStorageManager}.
      */
-    private ObjectMapper getObjectMapper() {
+    static ObjectMapper createObjectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.setDateFormat(getHumanReadableDateFormat());
         mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
@@ -88,7 +97,7 @@ public class DataObjectStorageManager<T extends Identifiable> {
      * @return human readable {@link DateFormat}, e.g. "Fri Jun 29 00:00:00 GMT
      * 2018".
      */
-    private DateFormat getHumanReadableDateFormat() {
+    private static DateFormat getHumanReadableDateFormat() {
         return new SimpleDateFormat("EEE MMM dd HH:mm:ss zzz yyyy", Locale.US);
     }
 
@@ -102,14 +111,13 @@ public class DataObjectStorageManager<T extends Identifiable> {
         return getObjectPrefix() + "_" + object.getId() + ".json";
     }
 
-    public List<T> loadFromStorage() {
-        loadNamesForAllStoredClasses();
-        List<T> objects = new ArrayList<>();
-        for (File jsonFile : files) {
-            Optional<T> opt = loadFromStorage(jsonFile);
-            opt.ifPresent(objects::add);
-        }
-        return objects;
+    @Override
+    public CompletableFuture<List<T>> loadFromStorageAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            loadNamesForAllStoredClasses();
+            return new ArrayList<>(files);
+        }, executor).thenCompose(jsonFiles -> ParallelParser
+                .parse(jsonFiles, this::loadFromStorage, executor));
     }
 
     private void loadNamesForAllStoredClasses() {
@@ -130,7 +138,6 @@ public class DataObjectStorageManager<T extends Identifiable> {
      * if present.
      */
     protected Optional<T> loadFromStorage(File jsonFile) {
-        ObjectMapper mapper = getObjectMapper();
         try {
             T object = (T) mapper.readValue(jsonFile, Identifiable.class);
             return Optional.of(object);
@@ -146,6 +153,7 @@ public class DataObjectStorageManager<T extends Identifiable> {
      * @param object of data class, e.g. {@link Movie} or {@link Performer}
      *               object.
      */
+    @Override
     public void remove(T object) {
         String fileName = createFileNameFor(object);
         File file = new File(directory + File.separator + fileName);
@@ -156,4 +164,17 @@ public class DataObjectStorageManager<T extends Identifiable> {
             Log.e("remove", object + " could not be deleted. " + e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Removes all JSON files of this class and their directory, e.g., after
+     * they were migrated to the {@link JournalStorageManager}.
+     */
+    void removeAll() {
+        files.clear();
+        try {
+            FileUtils.delete(directory);
+        } catch (IOException e) {
+            Log.e("removeAll", directory + " could not be deleted. " + e);
+        }
+    }
+}
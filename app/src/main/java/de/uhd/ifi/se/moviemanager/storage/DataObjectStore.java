@@ -0,0 +1,72 @@
+package de.uhd.ifi.se.moviemanager.storage;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import de.uhd.ifi.se.moviemanager.model.Hydrator;
+import de.uhd.ifi.se.moviemanager.model.Identifiable;
+import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.Performer;
+
+/**
+ * Interface for the persistence of single data objects, e.g., of {@link
+ * Movie}s and {@link Performer}s. Implemented by the {@link
+ * DataObjectStorageManager} (one JSON file per object) and by the {@link
+ * JournalStorageManager} (one append-only journal per class).
+ *
+ * @param <T> class of the stored objects, e.g. {@link Movie}.
+ */
+public interface DataObjectStore<T extends Identifiable> {
+
+    /**
+     * Saves the object. This method is also used for updating an object that
+     * was saved before. Objects are identified by their id.
+     *
+     * @param object e.g. {@link Movie} or {@link Performer} object to be
+     *               saved.
+     * @return true if the object was saved, false if it could not be written.
+     */
+    boolean saveToStorage(T object);
+
+    /**
+     * @return all objects that are currently stored.
+     */
+    default List<T> loadFromStorage() {
+        return loadFromStorageAsync(Runnable::run).join();
+    }
+
+    /**
+     * Loads all objects that are currently stored. The stored representations
+     * are parsed in parallel on the executor.
+     *
+     * @param executor on which the objects are read and parsed.
+     * @return future of all objects that are currently stored.
+     */
+    CompletableFuture<List<T>> loadFromStorageAsync(Executor executor);
+
+    /**
+     * Removes the object from storage. Does not remove associations.
+     *
+     * @param object e.g. {@link Movie} or {@link Performer} object to be
+     *               removed.
+     */
+    void remove(T object);
+
+    /**
+     * @return hydrator that loads the details of stored objects on demand or
+     * an empty optional if the store always loads complete objects.
+     */
+    default Optional<Hydrator> getHydrator() {
+        return Optional.empty();
+    }
+
+    /**
+     * Releases open files. The store can be used again afterwards, it reopens
+     * its files on demand.
+     */
+    default void close() {
+        // nothing to release by default
+    }
+}
@@ -0,0 +1,110 @@
+package de.uhd.ifi.se.moviemanager.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+
+import de.uhd.ifi.se.moviemanager.model.Identifiable;
+import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.Performer;
+
+/**
+ * Binary summary of a {@link Movie} or {@link Performer} that contains only
+ * the fields shown in the master lists, e.g. the title, the rating and the
+ * watch date of a movie. The {@link JournalStorageManager} stores the summary
+ * in front of the JSON representation, so that objects can be created at
+ * startup without parsing their details.
+ */
+final class DataObjectSummary {
+
+    // private constructor to prevent instantiation
+    private DataObjectSummary() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @param object e.g. {@link Movie} or {@link Performer}.
+     * @return summary or an empty optional if the class has no summary.
+     */
+    static Optional<byte[]> encode(Identifiable object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        if (object instanceof Movie) {
+            Movie movie = (Movie) object;
+            writeString(out, movie.getTitle());
+            out.writeDouble(movie.getRating());
+            writeDate(out, movie.getWatchDate());
+            out.writeInt(movie.getRuntime());
+        } else if (object instanceof Performer) {
+            Performer performer = (Performer) object;
+            writeString(out, performer.getName());
+            writeString(out, performer.getBirthName());
+            out.writeDouble(performer.getRating());
+            writeDate(out, performer.getDateOfBirth());
+        } else {
+            return Optional.empty();
+        }
+        out.flush();
+        return Optional.of(bytes.toByteArray());
+    }
+
+    /**
+     * @param modelClass e.g. Movie.class.
+     * @param id         of the object.
+     * @param summary    created by {@link #encode(Identifiable)}.
+     * @return object that contains only the fields of the summary.
+     */
+    static Identifiable decode(Class<?> modelClass, int id, byte[] summary)
+            throws IOException {
+        DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(summary));
+        if (modelClass == Movie.class) {
+            Movie movie = new Movie(id);
+            movie.setTitle(readString(in));
+            movie.setRating(in.readDouble());
+            movie.setWatchDate(readDate(in));
+            movie.setRuntime(in.readInt());
+            return movie;
+        }
+        if (modelClass == Performer.class) {
+            Performer performer = new Performer(id);
+            performer.setName(readString(in));
+            performer.setBirthName(readString(in));
+            performer.setRating(in.readDouble());
+            performer.setDateOfBirth(readDate(in));
+            return performer;
+        }
+        throw new IOException("No summary for " + modelClass.getSimpleName());
+    }
+
+    static void writeString(DataOutputStream out, String string)
+            throws IOException {
+        byte[] bytes = (string == null ? "" : string)
+                .getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeDate(DataOutputStream out, Date date)
+            throws IOException {
+        out.writeBoolean(date != null);
+        if (date != null) {
+            out.writeLong(date.getTime());
+        }
+    }
+
+    static Date readDate(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new Date(in.readLong()) : null;
+    }
+}
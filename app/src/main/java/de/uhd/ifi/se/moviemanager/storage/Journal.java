@@ -0,0 +1,648 @@
+package de.uhd.ifi.se.moviemanager.storage;
+
+import static java.lang.String.format;
+
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import de.uhd.ifi.se.moviemanager.util.FileUtils;
+
+/**
+ * Append-only, segmented log of records that are keyed by an id. Used by the
+ * {@link JournalStorageManager} to store all objects of one class in a few
+ * large files instead of one file per object.
+ * <p>
+ * A record is either a put (the complete payload of an object) or a delete.
+ * The latest record for an id wins. Records are appended to the active
+ * segment, e.g. "movie-000003.log". When the active segment becomes too large,
+ * a new segment is started.
+ * <p>
+ * Overwritten and deleted records are dead. When the ratio of dead records
+ * exceeds a threshold, the sealed segments are compacted in the background
+ * into a file such as "movie-000002.compact" that contains only the live
+ * records of all segments up to and including segment 2. The compacted file is
+ * written to a temporary file and renamed afterwards, so that a crash never
+ * leaves a half written file behind. Segments that are covered by a compacted
+ * file are ignored during replay and deleted.
+ * <p>
+ * The journal keeps the location of the latest put record of every id in
+ * memory, so that single records can be read again, see {@link #read(int)}.
+ * <p>
+ * Record layout: type (byte), id (int), payload length (int), payload
+ * (bytes), CRC32 of all preceding fields of the record (int). Every file
+ * starts with a magic number and a format version.
+ */
+final class Journal {
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final int MAGIC = 0x4D4D4A4C; // "MMJL"
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 5;
+    // type + id + length + crc
+    private static final int RECORD_OVERHEAD = 13;
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String COMPACT_SUFFIX = ".compact";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    static final long DEFAULT_MAX_SEGMENT_SIZE = 4L * 1024 * 1024;
+    static final int DEFAULT_MIN_RECORDS_FOR_COMPACTION = 512;
+    static final double DEFAULT_DEAD_RECORD_RATIO = 0.5;
+
+    // @decision A single background thread is shared by all journals, so that
+    // compactions never compete with each other for the disk.
+    private static final ExecutorService COMPACTION_EXECUTOR =
+            Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "journal-compaction");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    // directory in which the journal files are stored: "movie_manager/journal"
+    private final File directory;
+    // prefix of all files of this journal, e.g. "movie"
+    private final String name;
+    private final Pattern fileNamePattern;
+
+    private final long maxSegmentSize;
+    private final int minRecordsForCompaction;
+    private final double deadRecordRatio;
+
+    // location of the latest put record per live id
+    private final Map<Integer, Location> index = new HashMap<>();
+    // number of records in the files that are currently replayed
+    private int recordCount;
+    // number of records appended since the last compaction was started
+    private int recordsSinceCompaction;
+
+    private boolean opened;
+    private int activeSequence;
+    private File activeFile;
+    private long activeSize;
+    private DataOutputStream writer;
+    private Future<?> compaction;
+
+    /**
+     * Position of a record in a journal file.
+     */
+    private static final class Location {
+        private final File file;
+        private final long offset;
+
+        private Location(File file, long offset) {
+            this.file = file;
+            this.offset = offset;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Location)) {
+                return false;
+            }
+            Location location = (Location) object;
+            return location.offset == offset && location.file.equals(file);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(file, offset);
+        }
+    }
+
+    /**
+     * Callback for {@link #replay(RecordVisitor)}.
+     */
+    interface RecordVisitor {
+        /**
+         * @param type    {@link #PUT} or {@link #DELETE}.
+         * @param id      of the object, e.g. of a movie.
+         * @param payload of a put record, empty for delete records.
+         */
+        void visit(byte type, int id, byte[] payload);
+    }
+
+    Journal(File directory, String name) {
+        this(directory, name, DEFAULT_MAX_SEGMENT_SIZE,
+                DEFAULT_MIN_RECORDS_FOR_COMPACTION, DEFAULT_DEAD_RECORD_RATIO);
+    }
+
+    Journal(File directory, String name, long maxSegmentSize,
+            int minRecordsForCompaction, double deadRecordRatio) {
+        this.directory = directory;
+        this.name = name;
+        this.maxSegmentSize = maxSegmentSize;
+        this.minRecordsForCompaction = minRecordsForCompaction;
+        this.deadRecordRatio = deadRecordRatio;
+        fileNamePattern = Pattern.compile(Pattern.quote(name) +
+                "-(\\d+)(" + Pattern.quote(SEGMENT_SUFFIX) + "|" +
+                Pattern.quote(COMPACT_SUFFIX) + ")");
+    }
+
+    /**
+     * @return true if at least one journal file exists on disk.
+     */
+    synchronized boolean exists() {
+        return !listFiles().isEmpty();
+    }
+
+    /**
+     * Reads all live files of the journal in order and passes every valid
+     * record to the visitor. A torn record at the end of the newest segment
+     * (e.g. after a crash during a write) is cut off.
+     */
+    void replay(RecordVisitor visitor) throws IOException {
+        awaitCompaction();
+        synchronized (this) {
+            replayFiles(visitor);
+        }
+    }
+
+    private void replayFiles(RecordVisitor visitor) throws IOException {
+        TreeMap<Integer, File> segments = new TreeMap<>();
+        File compacted = collectLiveFiles(segments);
+
+        index.clear();
+        recordCount = 0;
+        if (compacted != null) {
+            replayFile(compacted, visitor);
+        }
+        long validEnd = HEADER_SIZE;
+        for (File segment : segments.values()) {
+            validEnd = replayFile(segment, visitor);
+        }
+        recordsSinceCompaction = 0;
+
+        if (!opened) {
+            openActiveSegment(segments, validEnd);
+        }
+    }
+
+    private long replayFile(File file, RecordVisitor visitor)
+            throws IOException {
+        return scanFile(file, (type, id, payload, offset) -> {
+            recordCount++;
+            if (type == PUT) {
+                index.put(id, new Location(file, offset));
+            } else {
+                index.remove(id);
+            }
+            visitor.visit(type, id, payload);
+        });
+    }
+
+    /**
+     * Appends a put record for the id.
+     */
+    synchronized void put(int id, byte[] payload) throws IOException {
+        index.put(id, append(PUT, id, payload));
+        scheduleCompactionIfNecessary();
+    }
+
+    /**
+     * Reads the payload of the latest put record for the id.
+     *
+     * @return payload or null if the id is not live.
+     */
+    synchronized byte[] read(int id) throws IOException {
+        ensureOpened();
+        Location location = index.get(id);
+        if (location == null) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(location.file)))) {
+            long skipped = 0;
+            while (skipped < location.offset) {
+                long step = in.skip(location.offset - skipped);
+                if (step <= 0) {
+                    throw new IOException("Unexpected end of " + location.file);
+                }
+                skipped += step;
+            }
+            byte type = in.readByte();
+            int recordId = in.readInt();
+            byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            if (type != PUT || recordId != id ||
+                    in.readInt() != checksum(type, id, payload)) {
+                throw new IOException(format("Invalid record for id %d in %s",
+                        id, location.file));
+            }
+            return payload;
+        }
+    }
+
+    /**
+     * Appends a delete record for the id. Nothing is written if the id is not
+     * live.
+     */
+    synchronized void delete(int id) throws IOException {
+        ensureOpened();
+        if (index.remove(id) == null) {
+            return;
+        }
+        append(DELETE, id, new byte[0]);
+        scheduleCompactionIfNecessary();
+    }
+
+    /**
+     * @return number of overwritten or deleted records that are still stored.
+     */
+    synchronized int getDeadRecordCount() {
+        return recordCount - index.size();
+    }
+
+    /**
+     * Closes the active segment. The journal reopens it on the next write.
+     */
+    void close() {
+        awaitCompaction();
+        synchronized (this) {
+            closeWriter();
+            opened = false;
+        }
+    }
+
+    /**
+     * Compacts all sealed segments in the background, regardless of the
+     * ratio of dead records.
+     *
+     * @return future that is done when the compaction is finished.
+     */
+    synchronized Future<?> compact() throws IOException {
+        ensureOpened();
+        return startCompaction();
+    }
+
+    void awaitCompaction() {
+        Future<?> running;
+        synchronized (this) {
+            running = compaction;
+        }
+        if (running == null) {
+            return;
+        }
+        try {
+            running.get();
+        } catch (ExecutionException e) {
+            Log.e("awaitCompaction", "Compaction of " + name + " failed: " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void ensureOpened() throws IOException {
+        // no compaction can be running while the journal is closed
+        if (!opened) {
+            replayFiles((type, id, payload) -> {
+            });
+        }
+    }
+
+    private Location append(byte type, int id, byte[] payload)
+            throws IOException {
+        ensureOpened();
+        if (activeSize >= maxSegmentSize) {
+            roll();
+        }
+        Location location = new Location(activeFile, activeSize);
+        writeRecord(writer, type, id, payload);
+        writer.flush();
+
+        activeSize += RECORD_OVERHEAD + payload.length;
+        recordCount++;
+        recordsSinceCompaction++;
+        return location;
+    }
+
+    private void scheduleCompactionIfNecessary() {
+        if (compaction != null && !compaction.isDone()) {
+            return;
+        }
+        int dead = getDeadRecordCount();
+        if (recordCount >= minRecordsForCompaction &&
+                dead > deadRecordRatio * recordCount) {
+            startCompaction();
+        }
+    }
+
+    private Future<?> startCompaction() {
+        if (compaction != null && !compaction.isDone()) {
+            return compaction;
+        }
+        try {
+            roll();
+        } catch (IOException e) {
+            Log.e("startCompaction", "Segment of " + name +
+                    " could not be sealed: " + e);
+        }
+        TreeMap<Integer, File> sealed = new TreeMap<>();
+        File compacted = collectLiveFiles(sealed);
+        sealed.remove(activeSequence);
+        int upTo = sealed.isEmpty() ? -1 : sealed.lastKey();
+        if (upTo < 0) {
+            compaction = null;
+            return CompletableFuture.completedFuture(null);
+        }
+        List<File> inputs = new ArrayList<>();
+        if (compacted != null) {
+            inputs.add(compacted);
+        }
+        inputs.addAll(sealed.values());
+        recordsSinceCompaction = 0;
+        compaction = COMPACTION_EXECUTOR.submit(() -> {
+            try {
+                writeCompactedFile(inputs, upTo);
+            } catch (IOException e) {
+                Log.e("compact", "Compaction of " + name + " failed: " + e);
+            }
+        });
+        return compaction;
+    }
+
+    /**
+     * Writes the live records of the input files into a new compacted file.
+     * Runs on the compaction thread and only reads sealed files.
+     */
+    private void writeCompactedFile(List<File> inputs, int upTo)
+            throws IOException {
+        // first pass: find the location of the latest put record of every id
+        Map<Integer, Location> latest = new HashMap<>();
+        for (File input : inputs) {
+            scanFile(input, (type, id, payload, offset) -> {
+                if (type == PUT) {
+                    latest.put(id, new Location(input, offset));
+                } else {
+                    latest.remove(id);
+                }
+            });
+        }
+
+        // second pass: copy the latest put records into the compacted file
+        File target = new File(directory, fileName(upTo, COMPACT_SUFFIX));
+        File temporary = new File(directory,
+                target.getName() + TEMPORARY_SUFFIX);
+        Map<Integer, Long> newOffsets = new HashMap<>();
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temporary)))) {
+            writeHeader(out);
+            for (File input : inputs) {
+                scanFile(input, (type, id, payload, offset) -> {
+                    if (new Location(input, offset).equals(latest.get(id))) {
+                        newOffsets.put(id, (long) out.size());
+                        writeRecord(out, type, id, payload);
+                    }
+                });
+            }
+            out.flush();
+        }
+
+        synchronized (this) {
+            if (!temporary.renameTo(target)) {
+                FileUtils.delete(temporary);
+                throw new IOException("Couldn't rename " + temporary);
+            }
+            // ids that were not written again point to the compacted file now
+            newOffsets.forEach((id, offset) -> {
+                if (latest.get(id).equals(index.get(id))) {
+                    index.put(id, new Location(target, offset));
+                }
+            });
+            for (File input : inputs) {
+                FileUtils.delete(input);
+            }
+            recordCount = latest.size() + recordsSinceCompaction;
+        }
+        Log.d("compact", format("Compacted %d files of %s into %s",
+                inputs.size(), name, target.getName()));
+    }
+
+    private static void writeRecord(DataOutputStream out, byte type, int id,
+                                    byte[] payload) throws IOException {
+        out.writeByte(type);
+        out.writeInt(id);
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.writeInt(checksum(type, id, payload));
+    }
+
+    private static int checksum(byte type, int id, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        updateCrc(crc, id);
+        updateCrc(crc, payload.length);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static void updateCrc(CRC32 crc, int value) {
+        crc.update(value >>> 24);
+        crc.update(value >>> 16);
+        crc.update(value >>> 8);
+        crc.update(value);
+    }
+
+    private static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    private void roll() throws IOException {
+        closeWriter();
+        activeSequence++;
+        openWriter(new File(directory,
+                fileName(activeSequence, SEGMENT_SUFFIX)), true);
+    }
+
+    private void openActiveSegment(TreeMap<Integer, File> segments,
+                                   long validEnd) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Couldn't create " + directory);
+        }
+        File compacted = collectLiveFiles(new TreeMap<>());
+        int compactedSequence = compacted == null ? 0 :
+                sequenceOf(compacted);
+        if (segments.isEmpty()) {
+            activeSequence = compactedSequence + 1;
+            openWriter(new File(directory,
+                    fileName(activeSequence, SEGMENT_SUFFIX)), true);
+        } else {
+            activeSequence = segments.lastKey();
+            File active = segments.lastEntry().getValue();
+            if (active.length() != validEnd) {
+                Log.e("openActiveSegment", format(
+                        "Cutting off torn record at offset %d of %s",
+                        validEnd, active));
+                try (RandomAccessFile file = new RandomAccessFile(active,
+                        "rw")) {
+                    file.setLength(validEnd);
+                }
+            }
+            openWriter(active, validEnd < HEADER_SIZE);
+        }
+        opened = true;
+    }
+
+    private void openWriter(File file, boolean writeHeader) throws IOException {
+        activeFile = file;
+        writer = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file, !writeHeader)));
+        activeSize = writeHeader ? 0 : file.length();
+        if (writeHeader) {
+            writeHeader(writer);
+            writer.flush();
+            activeSize = HEADER_SIZE;
+        }
+    }
+
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            Log.e("closeWriter", "Journal " + name + " not closed: " + e);
+        }
+        writer = null;
+    }
+
+    /**
+     * Collects the files that need to be replayed and deletes leftovers of
+     * interrupted or completed compactions.
+     *
+     * @param segments is filled with the segments that are newer than the
+     *                 newest compacted file, sorted by their sequence number.
+     * @return newest compacted file or null if there is none.
+     */
+    private File collectLiveFiles(TreeMap<Integer, File> segments) {
+        File newestCompacted = null;
+        int compactedSequence = 0;
+        List<File> files = listFiles();
+        for (File file : files) {
+            if (file.getName().endsWith(COMPACT_SUFFIX) &&
+                    sequenceOf(file) > compactedSequence) {
+                newestCompacted = file;
+                compactedSequence = sequenceOf(file);
+            }
+        }
+        for (File file : files) {
+            int sequence = sequenceOf(file);
+            if (file.getName().endsWith(SEGMENT_SUFFIX) &&
+                    sequence > compactedSequence) {
+                segments.put(sequence, file);
+            } else if (file != newestCompacted && !isCompacting()) {
+                deleteQuietly(file);
+            }
+        }
+        return newestCompacted;
+    }
+
+    private boolean isCompacting() {
+        return compaction != null && !compaction.isDone();
+    }
+
+    private List<File> listFiles() {
+        List<File> result = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return result;
+        }
+        for (File file : files) {
+            if (file.getName().startsWith(name + "-") &&
+                    file.getName().endsWith(TEMPORARY_SUFFIX) &&
+                    !isCompacting()) {
+                deleteQuietly(file);
+            } else if (fileNamePattern.matcher(file.getName()).matches()) {
+                result.add(file);
+            }
+        }
+        return result;
+    }
+
+    private int sequenceOf(File file) {
+        Matcher matcher = fileNamePattern.matcher(file.getName());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    private String fileName(int sequence, String suffix) {
+        return format("%s-%06d%s", name, sequence, suffix);
+    }
+
+    private static void deleteQuietly(File file) {
+        try {
+            FileUtils.delete(file);
+        } catch (IOException e) {
+            Log.e("deleteQuietly", "Couldn't delete " + file + ": " + e);
+        }
+    }
+
+    private interface LocatedRecordVisitor {
+        void visit(byte type, int id, byte[] payload, long offset)
+                throws IOException;
+    }
+
+    /**
+     * Reads all valid records of a journal file.
+     *
+     * @return offset behind the last valid record.
+     */
+    private static long scanFile(File file, LocatedRecordVisitor visitor)
+            throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(file)))) {
+            if (file.length() < HEADER_SIZE || in.readInt() != MAGIC ||
+                    in.readByte() != VERSION) {
+                Log.e("scanFile", "Not a journal file: " + file);
+                return 0;
+            }
+            long offset = HEADER_SIZE;
+            long length = file.length();
+            while (offset + RECORD_OVERHEAD <= length) {
+                byte type = in.readByte();
+                int id = in.readInt();
+                int size = in.readInt();
+                if ((type != PUT && type != DELETE) || size < 0 ||
+                        offset + RECORD_OVERHEAD + size > length) {
+                    break;
+                }
+                byte[] payload = new byte[size];
+                in.readFully(payload);
+                if (in.readInt() != checksum(type, id, payload)) {
+                    break;
+                }
+                visitor.visit(type, id, payload, offset);
+                offset += RECORD_OVERHEAD + size;
+            }
+            if (offset != length) {
+                Log.e("scanFile", format("Invalid record at offset %d of %s",
+                        offset, file));
+            }
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package de.uhd.ifi.se.moviemanager.storage;
+
+import android.util.Log;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import de.uhd.ifi.se.moviemanager.model.Hydrator;
+import de.uhd.ifi.se.moviemanager.model.Identifiable;
+import de.uhd.ifi.se.moviemanager.model.ModelObjectWithImage;
+import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.Performer;
+
+/**
+ * Manages the persistence of single data objects, e.g., of {@link Movie}s and
+ * {@link Performer}s, in one append-only {@link Journal} per class.
+ * <p>
+ * Every save appends the compact JSON representation of the object to the
+ * journal, every removal appends a delete record. Loading replays the journal
+ * sequentially, which is much faster than opening thousands of small JSON files
+ * (see {@link DataObjectStorageManager}).
+ * <p>
+ * Every payload starts with a {@link DataObjectSummary} that contains the
+ * fields shown in the master lists. At startup only the summaries are decoded,
+ * the details of an object, e.g. the description of a movie, are read from the
+ * journal when they are accessed for the first time.
+ */
+public class JournalStorageManager<T extends Identifiable>
+        implements DataObjectStore<T> {
+
+    // first byte of payloads that start with a summary, JSON starts with '{'
+    private static final byte SUMMARY_MARKER = 1;
+    // marker and length of the summary
+    private static final int SUMMARY_HEADER_SIZE = 5;
+
+    // class of the objects to be stored, e.g. Movie.class
+    private final Class<T> modelClass;
+
+    private final Journal journal;
+
+    private final ObjectMapper mapper =
+            DataObjectStorageManager.createObjectMapper();
+
+    public JournalStorageManager(File homeDirectory, Class<T> modelClass) {
+        this(new Journal(new File(homeDirectory, "journal"),
+                modelClass.getSimpleName().toLowerCase()), modelClass);
+    }
+
+    JournalStorageManager(Journal journal, Class<T> modelClass) {
+        this.journal = journal;
+        this.modelClass = modelClass;
+    }
+
+    @Override
+    public boolean saveToStorage(T object) {
+        try {
+            journal.put(object.getId(), toPayload(object));
+            return true;
+        } catch (IOException e) {
+            Log.e("saveToStorage", object + " could not be saved. " + e);
+            return false;
+        }
+    }
+
+    private byte[] toPayload(T object) throws IOException {
+        byte[] json = mapper.writeValueAsBytes(object);
+        Optional<byte[]> summary = DataObjectSummary.encode(object);
+        if (summary.isEmpty()) {
+            return json;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                SUMMARY_HEADER_SIZE + summary.get().length + json.length);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(SUMMARY_MARKER);
+        out.writeInt(summary.get().length);
+        out.write(summary.get());
+        out.write(json);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public CompletableFuture<List<T>> loadFromStorageAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(this::readLatestPayloads, executor)
+                .thenCompose(payloads -> ParallelParser.parse(
+                        new ArrayList<>(payloads.entrySet()), this::parse,
+                        executor));
+    }
+
+    /**
+     * Replays the journal sequentially.
+     *
+     * @return latest summary per id, sorted by id. Contains the complete
+     * payload for records that were written without a summary.
+     */
+    private Map<Integer, byte[]> readLatestPayloads() {
+        // @decision Only the latest payload per id is parsed, overwritten
+        // records are skipped without deserializing them.
+        Map<Integer, byte[]> payloads = new TreeMap<>();
+        try {
+            journal.replay((type, id, payload) -> {
+                if (type == Journal.PUT) {
+                    // @decision Only the summary is kept in memory, the
+                    // details are read again when they are accessed.
+                    payloads.put(id, hasSummary(payload) ? Arrays.copyOf(
+                            payload, SUMMARY_HEADER_SIZE + summaryLength(
+                                    payload)) : payload);
+                } else {
+                    payloads.remove(id);
+                }
+            });
+        } catch (IOException e) {
+            Log.e("loadFromStorage", "Journal could not be read: " + e);
+        }
+        return payloads;
+    }
+
+    private static boolean hasSummary(byte[] payload) {
+        return payload.length >= SUMMARY_HEADER_SIZE &&
+                payload[0] == SUMMARY_MARKER;
+    }
+
+    private static int summaryLength(byte[] payload) {
+        return ByteBuffer.wrap(payload, 1, 4).getInt();
+    }
+
+    private Optional<T> parse(Map.Entry<Integer, byte[]> payload) {
+        byte[] bytes = payload.getValue();
+        try {
+            if (!hasSummary(bytes)) {
+                return Optional.of(modelClass.cast(
+                        mapper.readValue(bytes, Identifiable.class)));
+            }
+            Identifiable summary = DataObjectSummary.decode(modelClass,
+                    payload.getKey(), Arrays.copyOfRange(bytes,
+                            SUMMARY_HEADER_SIZE, bytes.length));
+            ((ModelObjectWithImage) summary).setHydrator(this::loadComplete);
+            return Optional.of(modelClass.cast(summary));
+        } catch (IOException | ClassCastException e) {
+            Log.e("loadFromStorage", String.format(
+                    "%s with id=%d could not be read: %s",
+                    modelClass.getSimpleName(), payload.getKey(), e));
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads the complete object from the journal. Used to load the details of
+     * objects that were loaded from their summary.
+     *
+     * @param id of the object.
+     * @return complete object or an empty optional if it is not stored.
+     */
+    Optional<ModelObjectWithImage> loadComplete(int id) {
+        try {
+            byte[] payload = journal.read(id);
+            if (payload == null) {
+                return Optional.empty();
+            }
+            int offset = hasSummary(payload) ?
+                    SUMMARY_HEADER_SIZE + summaryLength(payload) : 0;
+            return Optional.of((ModelObjectWithImage) mapper.readValue(payload,
+                    offset, payload.length - offset, Identifiable.class));
+        } catch (IOException | ClassCastException e) {
+            Log.e("loadComplete", String.format(
+                    "%s with id=%d could not be read: %s",
+                    modelClass.getSimpleName(), id, e));
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<Hydrator> getHydrator() {
+        return Optional.of(this::loadComplete);
+    }
+
+    @Override
+    public void remove(T object) {
+        try {
+            journal.delete(object.getId());
+        } catch (IOException e) {
+            Log.e("remove", object + " could not be deleted. " + e);
+        }
+    }
+
+    @Override
+    public void close() {
+        journal.close();
+    }
+
+    /**
+     * @return true if the journal was already written to disk.
+     */
+    boolean exists() {
+        return journal.exists();
+    }
+
+    /**
+     * Copies all objects of the legacy store into the journal and deletes the
+     * legacy files afterwards. Does nothing if the journal already exists.
+     *
+     * @param legacyStore one JSON file per object.
+     */
+    void migrateFrom(DataObjectStorageManager<T> legacyStore) {
+        if (journal.exists()) {
+            return;
+        }
+        List<T> objects = legacyStore.loadFromStorage();
+        for (T object : objects) {
+            saveToStorage(object);
+        }
+        if (objects.size() == loadFromStorage().size()) {
+            legacyStore.removeAll();
+        } else {
+            Log.e("migrateFrom", "Migration of " + modelClass.getSimpleName()
+                    + "s incomplete, JSON files are kept.");
+        }
+    }
+}
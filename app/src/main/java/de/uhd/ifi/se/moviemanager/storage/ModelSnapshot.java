@@ -0,0 +1,356 @@
+package de.uhd.ifi.se.moviemanager.storage;
+
+import static java.lang.String.format;
+
+import android.util.Log;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import de.uhd.ifi.se.moviemanager.model.Hydrator;
+import de.uhd.ifi.se.moviemanager.model.IdAllocator;
+import de.uhd.ifi.se.moviemanager.model.ModelObjectWithImage;
+import de.uhd.ifi.se.moviemanager.model.ModelState;
+import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
+import de.uhd.ifi.se.moviemanager.model.MovieRelease;
+import de.uhd.ifi.se.moviemanager.model.Performer;
+import de.uhd.ifi.se.moviemanager.util.FileUtils;
+
+/**
+ * Binary snapshot of the whole movie manager model, i.e., of all {@link
+ * Movie}s, {@link Performer}s and their associations. Used by the {@link
+ * StorageManagerImpl} to restore the model at startup with one sequential
+ * read of one file instead of parsing all stored objects.
+ * <p>
+ * File format: magic number and version, the id high-water marks of movies
+ * and performers, the movies, the performers, the movie-performer pairs, and
+ * the CRC32 of all preceding bytes. Every object is
+ * stored as its {@link DataObjectSummary} followed by its details. The details
+ * of objects that were not hydrated yet are not stored, they are loaded from
+ * the data object store on first access again.
+ */
+final class ModelSnapshot {
+    private static final int MAGIC = 0x4D4D534E;
+    private static final int VERSION = 2;
+    private static final int CHECKSUM_SIZE = 4;
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    // length that is written instead of the size of a null list
+    private static final int NULL_LIST = -1;
+
+    private final List<Movie> movies;
+    private final List<Performer> performers;
+    private final Multimap<Movie, Performer> moviePerformerAssociations;
+    private final int movieHighWaterMark;
+    private final int performerHighWaterMark;
+
+    private ModelSnapshot(List<Movie> movies, List<Performer> performers,
+                          Multimap<Movie, Performer> moviePerformerAssociations,
+                          int movieHighWaterMark, int performerHighWaterMark) {
+        this.movies = movies;
+        this.performers = performers;
+        this.moviePerformerAssociations = moviePerformerAssociations;
+        this.movieHighWaterMark = movieHighWaterMark;
+        this.performerHighWaterMark = performerHighWaterMark;
+    }
+
+    /**
+     * @return movies sorted by their ids.
+     */
+    List<Movie> getMovies() {
+        return movies;
+    }
+
+    /**
+     * @return performers sorted by their ids.
+     */
+    List<Performer> getPerformers() {
+        return performers;
+    }
+
+    Multimap<Movie, Performer> getMoviePerformerAssociations() {
+        return moviePerformerAssociations;
+    }
+
+    /**
+     * @return high-water mark of the movie ids, see {@link
+     * IdAllocator#getHighWaterMark()}.
+     */
+    int getMovieHighWaterMark() {
+        return movieHighWaterMark;
+    }
+
+    /**
+     * @return high-water mark of the performer ids, see {@link
+     * IdAllocator#getHighWaterMark()}.
+     */
+    int getPerformerHighWaterMark() {
+        return performerHighWaterMark;
+    }
+
+    /**
+     * Writes the snapshot to a temporary file first and replaces the snapshot
+     * file afterwards, so that a crash never leaves a half written snapshot.
+     *
+     * @param file   of the snapshot.
+     * @param model  with the movies, performers and their associations. Its
+     *               {@link MovieManagerModel#getState() state} is written, so
+     *               the model may change meanwhile.
+     */
+    static void write(File file, MovieManagerModel model) throws IOException {
+        ModelState state = model.getState();
+        List<Movie> movies = state.getMovies();
+        List<Performer> performers = state.getPerformers();
+        int[] links = linksOfStoredObjects(state);
+        File temporary = new File(file.getPath() + TEMPORARY_SUFFIX);
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new CheckedOutputStream(
+                        new FileOutputStream(temporary), crc)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(model.getMovieIds().getHighWaterMark());
+            out.writeInt(model.getPerformerIds().getHighWaterMark());
+            out.writeInt(movies.size());
+            for (Movie movie : movies) {
+                writeObject(out, movie);
+            }
+            out.writeInt(performers.size());
+            for (Performer performer : performers) {
+                writeObject(out, performer);
+            }
+            out.writeInt(links.length / 2);
+            for (int id : links) {
+                out.writeInt(id);
+            }
+            out.flush();
+            // the checksum covers all bytes before it
+            out.writeInt((int) crc.getValue());
+        }
+        if (!temporary.renameTo(file)) {
+            FileUtils.delete(temporary);
+            throw new IOException(format("Couldn't replace '%s'.", file));
+        }
+    }
+
+    /**
+     * @return movie and performer id of every link whose objects are part of
+     * the state, one pair after the other.
+     */
+    private static int[] linksOfStoredObjects(ModelState state) {
+        int[] links = new int[2 * state.getLinkCount()];
+        int[] size = {0};
+        state.forEachLink((movieId, performerId) -> {
+            if (state.getMovieById(movieId).isPresent()
+                    && state.getPerformerById(performerId).isPresent()) {
+                links[size[0]++] = movieId;
+                links[size[0]++] = performerId;
+            }
+        });
+        return Arrays.copyOf(links, size[0]);
+    }
+
+    private static void writeObject(DataOutputStream out,
+                                    ModelObjectWithImage object)
+            throws IOException {
+        byte[] summary = DataObjectSummary.encode(object).orElseThrow(
+                () -> new IOException("No summary for " + object));
+        out.writeInt(object.getId());
+        out.writeInt(summary.length);
+        out.write(summary);
+        out.writeBoolean(object.isHydrated());
+        if (!object.isHydrated()) {
+            return;
+        }
+        if (object instanceof Movie) {
+            Movie movie = (Movie) object;
+            DataObjectSummary.writeString(out, movie.getDescription());
+            writeStrings(out, movie.getLanguages());
+            writeReleases(out, movie.getReleases());
+            writeStrings(out, movie.getProductionLocations());
+        } else {
+            Performer performer = (Performer) object;
+            DataObjectSummary.writeString(out, performer.getBiography());
+            writeStrings(out, performer.getOccupations());
+        }
+    }
+
+    private static void writeReleases(DataOutputStream out,
+                                      List<MovieRelease> releases)
+            throws IOException {
+        if (releases == null) {
+            out.writeInt(NULL_LIST);
+            return;
+        }
+        out.writeInt(releases.size());
+        for (MovieRelease release : releases) {
+            DataObjectSummary.writeString(out, release.getLocation());
+            DataObjectSummary.writeDate(out, release.getDate());
+        }
+    }
+
+    /**
+     * @param strings may be null, e.g. the languages of a movie whose
+     *                languages field was left empty.
+     */
+    private static void writeStrings(DataOutputStream out, List<String> strings)
+            throws IOException {
+        if (strings == null) {
+            out.writeInt(NULL_LIST);
+            return;
+        }
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            DataObjectSummary.writeString(out, string);
+        }
+    }
+
+    /**
+     * Reads the snapshot with one sequential read.
+     *
+     * @param file              of the snapshot.
+     * @param movieHydrator     loads the details of movies that are not stored
+     *                          in the snapshot.
+     * @param performerHydrator loads the details of performers that are not
+     *                          stored in the snapshot.
+     * @return snapshot or an empty optional if the file does not exist, is
+     * corrupt, or was written by another version.
+     */
+    static Optional<ModelSnapshot> read(File file,
+                                        Optional<Hydrator> movieHydrator,
+                                        Optional<Hydrator> performerHydrator) {
+        if (!file.exists()) {
+            return Optional.empty();
+        }
+        try {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            int length = bytes.length - CHECKSUM_SIZE;
+            if (length < 0) {
+                throw new IOException("Snapshot is truncated");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, length);
+            if ((int) crc.getValue() != ByteBuffer.wrap(bytes, length,
+                    CHECKSUM_SIZE).getInt()) {
+                throw new IOException("Checksum mismatch");
+            }
+            DataInputStream in = new DataInputStream(
+                    new ByteArrayInputStream(bytes, 0, length));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unknown snapshot version");
+            }
+            int movieHighWaterMark = in.readInt();
+            int performerHighWaterMark = in.readInt();
+            List<Movie> movies = readObjects(in, Movie.class, movieHydrator);
+            List<Performer> performers = readObjects(in, Performer.class,
+                    performerHydrator);
+            return Optional.of(new ModelSnapshot(movies, performers,
+                    readAssociations(in, movies, performers),
+                    movieHighWaterMark, performerHighWaterMark));
+        } catch (IOException | RuntimeException e) {
+            Log.e("readSnapshot", format("Snapshot '%s' is unusable: %s",
+                    file, e));
+            return Optional.empty();
+        }
+    }
+
+    private static <T extends ModelObjectWithImage> List<T> readObjects(
+            DataInputStream in, Class<T> modelClass,
+            Optional<Hydrator> hydrator) throws IOException {
+        int count = in.readInt();
+        List<T> objects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = in.readInt();
+            byte[] summary = new byte[in.readInt()];
+            in.readFully(summary);
+            T object = modelClass.cast(
+                    DataObjectSummary.decode(modelClass, id, summary));
+            if (in.readBoolean()) {
+                readDetails(in, object);
+            } else {
+                // @decision Without a hydrator the details would be lost, the
+                // snapshot is not used in that case.
+                object.setHydrator(hydrator.orElseThrow(() -> new IOException(
+                        "Details of " + object + " cannot be loaded")));
+            }
+            objects.add(object);
+        }
+        return objects;
+    }
+
+    private static void readDetails(DataInputStream in,
+                                    ModelObjectWithImage object)
+            throws IOException {
+        if (object instanceof Movie) {
+            Movie movie = (Movie) object;
+            movie.setDescription(DataObjectSummary.readString(in));
+            movie.setLanguages(readStrings(in));
+            int releaseCount = in.readInt();
+            List<MovieRelease> releases = releaseCount == NULL_LIST ? null :
+                    new ArrayList<>(releaseCount);
+            for (int i = 0; i < releaseCount; i++) {
+                releases.add(new MovieRelease(DataObjectSummary.readString(in),
+                        DataObjectSummary.readDate(in)));
+            }
+            movie.setReleases(releases);
+            movie.setProductionLocations(readStrings(in));
+        } else {
+            Performer performer = (Performer) object;
+            performer.setBiography(DataObjectSummary.readString(in));
+            performer.setOccupations(readStrings(in));
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in)
+            throws IOException {
+        int count = in.readInt();
+        if (count == NULL_LIST) {
+            return null;
+        }
+        List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            strings.add(DataObjectSummary.readString(in));
+        }
+        return strings;
+    }
+
+    private static Multimap<Movie, Performer> readAssociations(
+            DataInputStream in, List<Movie> movies, List<Performer> performers)
+            throws IOException {
+        Map<Integer, Movie> moviesById = new HashMap<>();
+        movies.forEach(movie -> moviesById.put(movie.getId(), movie));
+        Map<Integer, Performer> performersById = new HashMap<>();
+        performers.forEach(
+                performer -> performersById.put(performer.getId(), performer));
+
+        Multimap<Movie, Performer> associations = HashMultimap.create();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            Movie movie = moviesById.get(in.readInt());
+            Performer performer = performersById.get(in.readInt());
+            if (movie == null || performer == null) {
+                throw new IOException("Association with unknown object");
+            }
+            associations.put(movie, performer);
+        }
+        return associations;
+    }
+}
@@ -0,0 +1,68 @@
+package de.uhd.ifi.se.moviemanager.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Parses stored representations of data objects, e.g. JSON files, in chunks
+ * on an {@link Executor}. Used to load the movie manager in parallel on
+ * startup.
+ */
+final class ParallelParser {
+    private static final int MIN_CHUNK_SIZE = 64;
+    // chunks per thread, so that fast threads can take over remaining work
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    // private constructor to prevent instantiation
+    private ParallelParser() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Parses all sources without blocking any thread of the executor.
+     *
+     * @param sources  e.g. JSON files.
+     * @param parser   parses one source, returns an empty optional if the
+     *                 source could not be parsed.
+     * @param executor on which the chunks are parsed.
+     * @param <S>      class of the sources, e.g. {@link java.io.File}.
+     * @param <T>      class of the parsed objects, e.g. {@link
+     *                 de.uhd.ifi.se.moviemanager.model.Movie}.
+     * @return future of all parsed objects in the order of the sources.
+     */
+    static <S, T> CompletableFuture<List<T>> parse(List<S> sources,
+                                                   Function<S, Optional<T>> parser,
+                                                   Executor executor) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE,
+                sources.size() / (threads * CHUNKS_PER_THREAD) + 1);
+
+        List<CompletableFuture<List<T>>> chunks = new ArrayList<>();
+        for (int start = 0; start < sources.size(); start += chunkSize) {
+            List<S> chunk = sources.subList(start,
+                    Math.min(sources.size(), start + chunkSize));
+            chunks.add(CompletableFuture
+                    .supplyAsync(() -> parseChunk(chunk, parser), executor));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+                .thenApply(unused -> {
+                    List<T> objects = new ArrayList<>(sources.size());
+                    chunks.forEach(chunk -> objects.addAll(chunk.join()));
+                    return objects;
+                });
+    }
+
+    private static <S, T> List<T> parseChunk(List<S> chunk,
+                                             Function<S, Optional<T>> parser) {
+        List<T> objects = new ArrayList<>(chunk.size());
+        for (S source : chunk) {
+            parser.apply(source).ifPresent(objects::add);
+        }
+        return objects;
+    }
+}
@@ -0,0 +1,22 @@
+package de.uhd.ifi.se.moviemanager.storage;
+
+import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.Performer;
+
+/**
+ * Formats in which the {@link StorageManagerImpl} stores data objects, e.g.
+ * {@link Movie}s and {@link Performer}s.
+ */
+public enum StorageFormat {
+    /**
+     * One pretty-printed JSON file per data object, see {@link
+     * DataObjectStorageManager}.
+     */
+    JSON_FILES,
+    /**
+     * One append-only journal per class of data objects, see {@link
+     * JournalStorageManager}. Existing JSON files are migrated into the
+     * journal when the storage is opened for the first time.
+     */
+    JOURNAL
+}
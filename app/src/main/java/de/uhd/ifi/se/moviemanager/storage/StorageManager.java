@@ -51,6 +51,30 @@ public interface StorageManager {
      */
     boolean deletePerformerFile(Performer performer);
 
+    /**
+     * Starts a transaction that collects several saves and deletions, which
+     * are committed together via {@link #commit(StorageTransaction)}.
+     *
+     * @return empty transaction.
+     */
+    default StorageTransaction beginTransaction() {
+        return new StorageTransaction();
+    }
+
+    /**
+     * Performs all operations of the transaction. By default, the operations
+     * are performed one after another.
+     *
+     * @param transaction saves and deletions of {@link Movie}s and {@link
+     *                    Performer}s.
+     */
+    default void commit(StorageTransaction transaction) {
+        transaction.getDeletedPerformers().forEach(this::deletePerformerFile);
+        transaction.getDeletedMovies().forEach(this::deleteMovieFile);
+        transaction.getSavedPerformers().forEach(this::savePerformerToFile);
+        transaction.getSavedMovies().forEach(this::saveMovieToFile);
+    }
+
     String getImagePath();
 
     /**
@@ -61,6 +85,15 @@ public interface StorageManager {
      */
     void saveImage(ImagePyramid imagePyramid);
 
+    /**
+     * Writes a snapshot of the whole {@link MovieManagerModel} from which the
+     * model is restored at the next startup. Does nothing if the stored
+     * snapshot is up to date or if the storage does not support snapshots.
+     */
+    default void saveSnapshot() {
+        // no snapshot by default
+    }
+
     /**
      * Use carefully! Reloads the whole {@link MovieManagerModel} from storage. Deletes all
      * temporary data that was not saved in files.
@@ -6,10 +6,21 @@ import android.app.Activity;
 import android.util.Log;
 
 import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import de.uhd.ifi.se.moviemanager.MovieManagerActivity;
 import de.uhd.ifi.se.moviemanager.model.ImagePyramid;
 import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
 import de.uhd.ifi.se.moviemanager.model.Performer;
 
 /**
@@ -17,6 +28,20 @@ import de.uhd.ifi.se.moviemanager.model.Performer;
  * handles the Android permissions. Both classes implement the {@link
  * StorageManager} interface.
  * <p>
+ * Writes are performed behind the caller's back on a single writer thread.
+ * The asynchronous methods, e.g. {@link #saveMovieAsync(Movie)}, return
+ * immediately. Writes for the same object that are still waiting in the queue
+ * are collapsed into one write at the position of the last of them, e.g. when
+ * a movie is saved several times in a row. The synchronous methods of the
+ * {@link StorageManager} interface use the same queue and wait for their
+ * write, so that all writes happen in order. On the writer thread they write
+ * immediately.
+ * {@link #flush()} waits until all queued writes are done.
+ * <p>
+ * A snapshot of the whole model is written when no write was queued for
+ * {@link #IDLE_DELAY_SECONDS} seconds and when the app is stopped, see {@link
+ * #saveSnapshotAsync()}.
+ * <p>
  * This class uses the Singleton design pattern. The Singleton pattern restricts
  * the instantiation of a class to one "single" instance.
  */
@@ -24,8 +49,58 @@ public final class StorageManagerAccess implements StorageManager {
     private static final StorageManagerAccess INSTANCE =
             new StorageManagerAccess();
 
+    // time without writes after which a snapshot of the model is written
+    private static final long IDLE_DELAY_SECONDS = 5;
+    private static final String SNAPSHOT_KEY = "snapshot";
+
+    // @decision One writer thread, so that the storage manager is never
+    // accessed concurrently and writes are performed in the order in which
+    // they were queued.
+    private final ExecutorService writer = Executors
+            .newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "storage-writer");
+                thread.setDaemon(true);
+                writerThread = thread;
+                return thread;
+            });
+    private volatile Thread writerThread;
+
+    // schedules the snapshot after idle periods
+    private final ScheduledExecutorService idleTimer = Executors
+            .newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "storage-idle");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private ScheduledFuture<?> idleSnapshot;
+
+    // numbers the queued transactions, which are never merged
+    private final AtomicLong transactionCount = new AtomicLong();
+
+    // writes that are queued but not started yet, by object, e.g. "movie:3"
+    private final Map<String, PendingWrite> pendingWrites = new HashMap<>();
+
+    private final MovieManagerModel model = MovieManagerModel.getInstance();
+
     private StorageManager storageManager;
 
+    /**
+     * Write that waits in the queue. Its action is replaced and it moves to
+     * the end of the queue if the same object is written again before the
+     * write started.
+     */
+    private static final class PendingWrite {
+        private Runnable action;
+        // position in the queue, earlier positions are skipped
+        private int position;
+        private final CompletableFuture<Void> future =
+                new CompletableFuture<>();
+
+        private PendingWrite(Runnable action) {
+            this.action = action;
+        }
+    }
+
     public static StorageManagerAccess getInstance() {
         return INSTANCE;
     }
@@ -55,7 +130,8 @@ public final class StorageManagerAccess implements StorageManager {
         if (!directory.getParentFile().exists()) {
             directory.getParentFile().mkdirs();
         }
-        storageManager = StorageManagerImpl.getInstance(directory);
+        storageManager = StorageManagerImpl.getInstance(directory,
+                StorageFormat.JOURNAL);
     }
 
     private boolean isStorageOpened() {
@@ -70,29 +146,270 @@ public final class StorageManagerAccess implements StorageManager {
         return storageManager;
     }
 
+    /**
+     * Queues the write. If a write for the same key is still waiting, its
+     * action is replaced, it is moved to the end of the queue and its future
+     * is returned.
+     * <p>
+     * On the writer thread, e.g. if a write calls a synchronous method, the
+     * write is performed immediately instead of waiting for itself.
+     *
+     * @param key    of the written object, e.g. "movie:3".
+     * @param action that performs the write.
+     * @return future that is completed after the write.
+     */
+    private CompletableFuture<Void> enqueue(String key, Runnable action) {
+        if (isWriterThread()) {
+            PendingWrite write;
+            synchronized (pendingWrites) {
+                // the queued write of the key is replaced
+                write = pendingWrites.remove(key);
+            }
+            if (write == null) {
+                write = new PendingWrite(action);
+            }
+            write.action = action;
+            run(key, write);
+            return write.future;
+        }
+        synchronized (pendingWrites) {
+            PendingWrite write = pendingWrites.get(key);
+            // @decision A replaced write moves to the end of the queue, so
+            // that it never overtakes writes that were queued before, e.g.
+            // of a performer that a later write of a movie links to.
+            if (write == null) {
+                write = new PendingWrite(action);
+                pendingWrites.put(key, write);
+            } else {
+                write.action = action;
+                write.position++;
+            }
+            PendingWrite queued = write;
+            int position = write.position;
+            writer.execute(() -> runPendingWrite(key, queued, position));
+            if (!SNAPSHOT_KEY.equals(key)) {
+                scheduleIdleSnapshot();
+            }
+            return write.future;
+        }
+    }
+
+    private boolean isWriterThread() {
+        return Thread.currentThread() == writerThread;
+    }
+
+    /**
+     * Restarts the countdown after which the snapshot is written.
+     */
+    private void scheduleIdleSnapshot() {
+        if (idleSnapshot != null) {
+            idleSnapshot.cancel(false);
+        }
+        idleSnapshot = idleTimer.schedule(this::saveSnapshotAsync,
+                IDLE_DELAY_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Performs the write unless it was moved to a later position in the queue
+     * or was already performed.
+     */
+    private void runPendingWrite(String key, PendingWrite write,
+                                 int position) {
+        synchronized (pendingWrites) {
+            if (pendingWrites.get(key) != write || write.position != position) {
+                return;
+            }
+            pendingWrites.remove(key);
+        }
+        run(key, write);
+    }
+
+    private static void run(String key, PendingWrite write) {
+        try {
+            write.action.run();
+            write.future.complete(null);
+        } catch (RuntimeException e) {
+            Log.e("run", "Writing " + key + " failed: " + e);
+            write.future.completeExceptionally(e);
+        }
+    }
+
+    private static void await(CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            Log.e("await", String.valueOf(e.getCause()));
+        }
+    }
+
+    private static String keyOf(Movie movie) {
+        return "movie:" + movie.getId();
+    }
+
+    private static String keyOf(Performer performer) {
+        return "performer:" + performer.getId();
+    }
+
+    /**
+     * Saves the movie on the writer thread.
+     *
+     * @param movie {@link Movie} object.
+     * @return future that is completed after the movie was written.
+     */
+    public CompletableFuture<Void> saveMovieAsync(Movie movie) {
+        return enqueue(keyOf(movie),
+                () -> getStorageManager().saveMovieToFile(movie));
+    }
+
+    /**
+     * Saves the performer on the writer thread.
+     *
+     * @param performer {@link Performer} object.
+     * @return future that is completed after the performer was written.
+     */
+    public CompletableFuture<Void> savePerformerAsync(Performer performer) {
+        return enqueue(keyOf(performer),
+                () -> getStorageManager().savePerformerToFile(performer));
+    }
+
+    /**
+     * Removes the movie from the model immediately and deletes its file on the
+     * writer thread. Replaces a queued save of the movie.
+     *
+     * @param movie {@link Movie} object.
+     * @return future that is completed after the movie was deleted.
+     */
+    public CompletableFuture<Void> deleteMovieAsync(Movie movie) {
+        model.removeMovie(movie);
+        return enqueue(keyOf(movie),
+                () -> getStorageManager().deleteMovieFile(movie));
+    }
+
+    /**
+     * Removes the performer from the model immediately and deletes its file
+     * on the writer thread. Replaces a queued save of the performer.
+     *
+     * @param performer {@link Performer} object.
+     * @return future that is completed after the performer was deleted.
+     */
+    public CompletableFuture<Void> deletePerformerAsync(Performer performer) {
+        model.removePerformer(performer);
+        return enqueue(keyOf(performer),
+                () -> getStorageManager().deletePerformerFile(performer));
+    }
+
+    /**
+     * Saves the image on the writer thread.
+     *
+     * @param imagePyramid image in different sizes.
+     * @return future that is completed after the image was written.
+     */
+    public CompletableFuture<Void> saveImageAsync(ImagePyramid imagePyramid) {
+        return enqueue("image:" + imagePyramid.getFileName(),
+                () -> getStorageManager().saveImage(imagePyramid));
+    }
+
+    /**
+     * Removes the deleted objects of the transaction from the model
+     * immediately and commits the transaction on the writer thread.
+     *
+     * @param transaction saves and deletions of {@link Movie}s and {@link
+     *                    Performer}s.
+     * @return future that is completed after the transaction was committed.
+     */
+    public CompletableFuture<Void> commitAsync(
+            StorageTransaction transaction) {
+        transaction.getDeletedMovies().forEach(model::removeMovie);
+        transaction.getDeletedPerformers().forEach(model::removePerformer);
+        return enqueue("transaction:" + transactionCount.incrementAndGet(),
+                () -> getStorageManager().commit(transaction));
+    }
+
+    /**
+     * Writes a snapshot of the model on the writer thread after all writes
+     * that were queued before. Call it when the app is stopped. No snapshot
+     * is written if other writes were queued meanwhile or if objects were
+     * changed but not saved.
+     *
+     * @return future that is completed after the snapshot was written.
+     */
+    public CompletableFuture<Void> saveSnapshotAsync() {
+        return enqueue(SNAPSHOT_KEY, () -> {
+            // the writes that were queued meanwhile schedule the snapshot
+            // again, see scheduleIdleSnapshot()
+            if (!hasPendingWrites()) {
+                getStorageManager().saveSnapshot();
+            }
+        });
+    }
+
+    /**
+     * @return true if writes are queued that did not start yet.
+     */
+    private boolean hasPendingWrites() {
+        synchronized (pendingWrites) {
+            return !pendingWrites.isEmpty();
+        }
+    }
+
+    /**
+     * Waits until all writes that were queued before are done. Use it before
+     * the app is closed and in tests.
+     */
+    public void flush() {
+        runOnWriter(() -> {
+        });
+    }
+
+    /**
+     * Performs the action on the writer thread after all queued writes and
+     * waits for it, or performs it immediately on the writer thread.
+     */
+    private void runOnWriter(Runnable action) {
+        if (isWriterThread()) {
+            action.run();
+        } else {
+            await(CompletableFuture.runAsync(action, writer));
+        }
+    }
+
     @Override
     public Movie saveMovieToFile(Movie movie) {
-        return getStorageManager().saveMovieToFile(movie);
+        await(saveMovieAsync(movie));
+        return movie;
     }
 
     @Override
     public Performer savePerformerToFile(Performer performer) {
-        return getStorageManager().savePerformerToFile(performer);
+        await(savePerformerAsync(performer));
+        return performer;
     }
 
     @Override
     public boolean deleteMovieFile(Movie movie) {
-        return getStorageManager().deleteMovieFile(movie);
+        await(deleteMovieAsync(movie));
+        return true;
     }
 
     @Override
     public boolean deletePerformerFile(Performer performer) {
-        return getStorageManager().deletePerformerFile(performer);
+        await(deletePerformerAsync(performer));
+        return true;
     }
 
     @Override
     public void saveImage(ImagePyramid imagePyramid) {
-        getStorageManager().saveImage(imagePyramid);
+        await(saveImageAsync(imagePyramid));
+    }
+
+    @Override
+    public void commit(StorageTransaction transaction) {
+        await(commitAsync(transaction));
+    }
+
+    @Override
+    public void saveSnapshot() {
+        await(saveSnapshotAsync());
     }
 
     @Override
@@ -102,11 +419,11 @@ public final class StorageManagerAccess implements StorageManager {
 
     @Override
     public void selfDestruct() {
-        getStorageManager().selfDestruct();
+        runOnWriter(() -> getStorageManager().selfDestruct());
     }
 
     @Override
     public void clear() {
-        getStorageManager().clear();
+        runOnWriter(() -> getStorageManager().clear());
     }
 }
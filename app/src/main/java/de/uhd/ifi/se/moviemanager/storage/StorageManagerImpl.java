@@ -7,17 +7,30 @@ import static de.uhd.ifi.se.moviemanager.util.FileUtils.walk;
 import android.graphics.Bitmap;
 import android.util.Log;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.IntFunction;
 import java.util.stream.Stream;
 
+import de.uhd.ifi.se.moviemanager.model.Identifiable;
 import de.uhd.ifi.se.moviemanager.model.ImagePyramid;
+import de.uhd.ifi.se.moviemanager.model.LinkChanges;
+import de.uhd.ifi.se.moviemanager.model.ModelObjectWithImage;
+import de.uhd.ifi.se.moviemanager.model.ModelState;
 import de.uhd.ifi.se.moviemanager.model.Movie;
 import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
 import de.uhd.ifi.se.moviemanager.model.Performer;
@@ -31,6 +44,21 @@ import de.uhd.ifi.se.moviemanager.util.FileUtils;
  * proxy that controls access to the {@link StorageManagerImpl} class. Both
  * classes implement the {@link StorageManager} interface.
  * <p>
+ * Data objects are stored in the {@link StorageFormat} that is passed when the
+ * instance is created, associations and images are stored in files. Only
+ * objects with dirty fields are written, see {@link
+ * ModelObjectWithImage#getDirtyFields()}.
+ * <p>
+ * Besides, a {@link ModelSnapshot} of the whole model is written on request,
+ * see {@link #saveSnapshot()}. At startup the model is restored from the
+ * snapshot if it is up to date. The snapshot is deleted before the first write
+ * after it was taken, so that a stale snapshot is never read. The high-water
+ * marks of the ids are stored separately before objects are deleted.
+ * <p>
+ * Several operations are committed together via {@link
+ * #commit(StorageTransaction)}. A {@link TransactionLog} makes the commit
+ * atomic, the associations are written once per transaction.
+ * <p>
  * Besides, this class uses the Multiton design pattern. The Multiton pattern
  * allows for the controlled creation of multiple instances, which it manages
  * through the use of a map.
@@ -38,24 +66,77 @@ import de.uhd.ifi.se.moviemanager.util.FileUtils;
 public class StorageManagerImpl implements StorageManager {
     private static final Map<File, StorageManager> INSTANCES = new HashMap<>();
 
+    // @decision The stored data objects are parsed on a bounded pool with one
+    // thread per core. The threads are daemons so that they never keep the
+    // app process alive.
+    private static final ExecutorService LOADING_EXECUTOR = Executors
+            .newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "storage-loader");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    // keys of the high-water marks of the ids in their file
+    private static final String MOVIE_IDS = "movies";
+    private static final String PERFORMER_IDS = "performers";
+
     private final File homeDirectory;
+    private final File snapshotFile;
+    private final File transactionFile;
+    private final File highWaterMarksFile;
     private final String imagePath;
+    private final StorageFormat storageFormat;
 
     private final MovieManagerModel movieManagerModel = MovieManagerModel.getInstance();
 
+    private final ObjectMapper mapper =
+            DataObjectStorageManager.createObjectMapper();
+
     private AssociationStorageManager<Movie, Performer> moviePerformerAssociationStorageManager;
-    private DataObjectStorageManager<Movie> movieStorageManager;
-    private DataObjectStorageManager<Performer> performerStorageManager;
+    private DataObjectStore<Movie> movieStorageManager;
+    private DataObjectStore<Performer> performerStorageManager;
+
+    // true if link changes could not be written, the next save compares all
+    // associations with the stored ones
+    private boolean associationsOutOfSync;
 
+    // true if the snapshot file contains the stored state
+    private boolean snapshotUpToDate;
+
+    // high-water marks of the ids in the high-water marks file
+    private final Map<String, Integer> storedHighWaterMarks = new HashMap<>();
+
+    /**
+     * @param file home directory of the storage.
+     * @return instance that stores data objects as one JSON file per object.
+     */
     public static StorageManager getInstance(File file) {
-        INSTANCES.computeIfAbsent(file, StorageManagerImpl::new);
+        return getInstance(file, StorageFormat.JSON_FILES);
+    }
+
+    /**
+     * @param file          home directory of the storage.
+     * @param storageFormat format in which data objects are stored. Only used
+     *                      when the instance for the directory is created.
+     * @return instance for the home directory.
+     */
+    public static StorageManager getInstance(File file,
+                                             StorageFormat storageFormat) {
+        INSTANCES.computeIfAbsent(file,
+                home -> new StorageManagerImpl(home, storageFormat));
         StorageManagerAccess.getInstance()
                 .setStorageManager(INSTANCES.get(file));
         return INSTANCES.get(file);
     }
 
-    private StorageManagerImpl(File homeDirectory) {
+    private StorageManagerImpl(File homeDirectory,
+                               StorageFormat storageFormat) {
         this.homeDirectory = homeDirectory;
+        this.storageFormat = storageFormat;
+        snapshotFile = new File(homeDirectory, "snapshot.bin");
+        transactionFile = new File(homeDirectory, "transaction.json");
+        highWaterMarksFile = new File(homeDirectory, "ids.json");
         imagePath = this.homeDirectory
                 .getAbsoluteFile() + File.separator + "images";
         setup();
@@ -64,8 +145,138 @@ public class StorageManagerImpl implements StorageManager {
     private void setup() {
         setupAssociationStorageManagers();
         setupDataObjectStorageManagers();
-        loadDataObjectsFromJsonFiles();
-        loadAssociationsFromFiles();
+        redoInterruptedTransaction();
+        if (!loadSnapshot()) {
+            loadDataObjectsFromStorage();
+            loadAssociationsFromFiles();
+        }
+        loadHighWaterMarks();
+    }
+
+    /**
+     * Restores the high-water marks of the ids, so that the ids of deleted
+     * objects are not handed out again, even if no snapshot was read.
+     */
+    private void loadHighWaterMarks() {
+        storedHighWaterMarks.clear();
+        if (!highWaterMarksFile.exists()) {
+            return;
+        }
+        try {
+            Map<?, ?> marks = mapper.readValue(highWaterMarksFile, Map.class);
+            marks.forEach((ids, mark) -> storedHighWaterMarks.put(
+                    (String) ids, ((Number) mark).intValue()));
+        } catch (IOException | ClassCastException e) {
+            Log.e("loadHighWaterMarks", format("'%s' could not be read: %s",
+                    highWaterMarksFile, e));
+            return;
+        }
+        movieManagerModel.getMovieIds().restoreHighWaterMark(
+                storedHighWaterMarks.getOrDefault(MOVIE_IDS, 0));
+        movieManagerModel.getPerformerIds().restoreHighWaterMark(
+                storedHighWaterMarks.getOrDefault(PERFORMER_IDS, 0));
+    }
+
+    /**
+     * Stores the high-water marks of the ids before objects are deleted.
+     * Otherwise, the highest stored id would be lower than the id of a
+     * deleted object after a restart without an up to date snapshot, and the
+     * id would be handed out again.
+     */
+    private void saveHighWaterMarks() {
+        Map<String, Integer> marks = new HashMap<>();
+        marks.put(MOVIE_IDS, movieManagerModel.getMovieIds()
+                .getHighWaterMark());
+        marks.put(PERFORMER_IDS, movieManagerModel.getPerformerIds()
+                .getHighWaterMark());
+        if (marks.equals(storedHighWaterMarks)) {
+            return;
+        }
+        File temporary = new File(highWaterMarksFile.getPath() + ".tmp");
+        try {
+            mapper.writeValue(temporary, marks);
+            if (!temporary.renameTo(highWaterMarksFile)) {
+                FileUtils.delete(temporary);
+                throw new IOException(format("Couldn't replace '%s'.",
+                        highWaterMarksFile));
+            }
+            storedHighWaterMarks.clear();
+            storedHighWaterMarks.putAll(marks);
+        } catch (IOException e) {
+            Log.e("saveHighWaterMarks",
+                    "High-water marks could not be written: " + e);
+        }
+    }
+
+    /**
+     * Restores the model from the snapshot. Deletes the snapshot if it is
+     * unusable.
+     *
+     * @return true if the model was restored.
+     */
+    private boolean loadSnapshot() {
+        Optional<ModelSnapshot> snapshot = ModelSnapshot.read(snapshotFile,
+                movieStorageManager.getHydrator(),
+                performerStorageManager.getHydrator());
+        snapshotUpToDate = snapshot.isPresent();
+        if (snapshot.isEmpty()) {
+            deleteSnapshot();
+            return false;
+        }
+        setModel(snapshot.get().getMovies(), snapshot.get().getPerformers());
+        movieManagerModel.setMoviePerformerAssociations(
+                snapshot.get().getMoviePerformerAssociations());
+        movieManagerModel.getMovieIds().restoreHighWaterMark(
+                snapshot.get().getMovieHighWaterMark());
+        movieManagerModel.getPerformerIds().restoreHighWaterMark(
+                snapshot.get().getPerformerHighWaterMark());
+        return true;
+    }
+
+    private void deleteSnapshot() {
+        try {
+            FileUtils.delete(snapshotFile);
+        } catch (IOException e) {
+            Log.e("deleteSnapshot", format("Couldn't delete '%s'.",
+                    snapshotFile));
+        }
+    }
+
+    /**
+     * Deletes the snapshot before the stored state changes.
+     */
+    private void invalidateSnapshot() {
+        if (snapshotUpToDate) {
+            deleteSnapshot();
+            snapshotUpToDate = false;
+        }
+    }
+
+    @Override
+    public void saveSnapshot() {
+        // @decision Links and objects that were not stored yet must not be
+        // part of the snapshot, otherwise it would differ from the stored
+        // data. A later write schedules the snapshot again.
+        if (snapshotUpToDate || movieManagerModel.hasLinkChanges()
+                || hasDirtyObjects(movieManagerModel.getState())) {
+            return;
+        }
+        try {
+            ModelSnapshot.write(snapshotFile, movieManagerModel);
+            snapshotUpToDate = true;
+        } catch (IOException e) {
+            Log.e("saveSnapshot", "Snapshot could not be written: " + e);
+            deleteSnapshot();
+        }
+    }
+
+    /**
+     * @return true if a movie or performer changed since it was stored, the
+     * snapshot would contain changes that are not stored then.
+     */
+    private static boolean hasDirtyObjects(ModelState state) {
+        return state.getMovies().stream().anyMatch(Movie::isDirty)
+                || state.getPerformers().stream().anyMatch(Performer::isDirty);
     }
 
     private void setupAssociationStorageManagers() {
@@ -73,24 +284,62 @@ public class StorageManagerImpl implements StorageManager {
                 new AssociationStorageManager<>(
                         "movie-performer", this::tryGetMovieById,
                         this::tryGetPerformerById, homeDirectory);
+        associationsOutOfSync = false;
     }
 
     private void setupDataObjectStorageManagers() {
-        movieStorageManager = new DataObjectStorageManager<>(homeDirectory,
-                Movie.class);
-        performerStorageManager = new DataObjectStorageManager<>(homeDirectory,
-                Performer.class);
+        closeDataObjectStorageManagers();
+        movieStorageManager = createDataObjectStore(Movie.class);
+        performerStorageManager = createDataObjectStore(Performer.class);
+    }
+
+    private <T extends Identifiable> DataObjectStore<T> createDataObjectStore(
+            Class<T> modelClass) {
+        if (storageFormat == StorageFormat.JSON_FILES) {
+            return new DataObjectStorageManager<>(homeDirectory, modelClass);
+        }
+        JournalStorageManager<T> journalStorageManager =
+                new JournalStorageManager<>(homeDirectory, modelClass);
+        if (!journalStorageManager.exists()) {
+            journalStorageManager.migrateFrom(
+                    new DataObjectStorageManager<>(homeDirectory, modelClass));
+        }
+        return journalStorageManager;
+    }
+
+    private void closeDataObjectStorageManagers() {
+        if (movieStorageManager != null) {
+            movieStorageManager.close();
+        }
+        if (performerStorageManager != null) {
+            performerStorageManager.close();
+        }
     }
 
-    private void loadDataObjectsFromJsonFiles() {
-        List<Movie> storedMovies = movieStorageManager.loadFromStorage();
-        movieManagerModel.getMovies().clear();
-        movieManagerModel.getMovies().addAll(storedMovies);
+    /**
+     * Loads movies and performers at the same time. Both are merged into the
+     * model sorted by their ids after both were loaded completely.
+     */
+    private void loadDataObjectsFromStorage() {
+        CompletableFuture<List<Movie>> movies = movieStorageManager
+                .loadFromStorageAsync(LOADING_EXECUTOR);
+        CompletableFuture<List<Performer>> performers =
+                performerStorageManager.loadFromStorageAsync(LOADING_EXECUTOR);
+
+        setModel(sortedById(movies.join()), sortedById(performers.join()));
+    }
+
+    private void setModel(List<Movie> movies, List<Performer> performers) {
+        movies.forEach(Movie::clearDirtyFields);
+        performers.forEach(Performer::clearDirtyFields);
+        movieManagerModel.setMovies(movies);
+        movieManagerModel.setPerformers(performers);
+    }
 
-        List<Performer> storedPerformers = performerStorageManager
-                .loadFromStorage();
-        movieManagerModel.getPerformers().clear();
-        movieManagerModel.getPerformers().addAll(storedPerformers);
+    private static <T extends Identifiable> List<T> sortedById(
+            List<T> objects) {
+        objects.sort(Comparator.comparingInt(Identifiable::getId));
+        return objects;
     }
 
     private void loadAssociationsFromFiles() {
@@ -100,23 +349,91 @@ public class StorageManagerImpl implements StorageManager {
 
     @Override
     public Movie saveMovieToFile(Movie movie) {
-        movieStorageManager.saveToStorage(movie);
-        saveAllAssociations();
-        saveImage(movie.getImage());
+        saveIfDirty(movie, movieStorageManager);
+        saveChangedAssociations();
         return movie;
     }
 
-    private void saveAllAssociations() {
-        moviePerformerAssociationStorageManager.saveToStorage(
-                movieManagerModel.getMoviePerformerAssociations());
+    /**
+     * Writes the object only if a field changed since the last save, and its
+     * image only if the image changed. If the object could not be written,
+     * its fields stay dirty, so that the next save writes it again.
+     */
+    private <T extends ModelObjectWithImage> void saveIfDirty(
+            T object, DataObjectStore<T> store) {
+        int dirtyFields = object.clearDirtyFields();
+        if (dirtyFields == 0) {
+            return;
+        }
+        invalidateSnapshot();
+        if (!store.saveToStorage(object)) {
+            object.markDirty(dirtyFields);
+        }
+        if (isImageDirty(dirtyFields)) {
+            saveImage(object.getImage());
+        }
+    }
+
+    private static boolean isImageDirty(int dirtyFields) {
+        return (dirtyFields & ModelObjectWithImage.IMAGE_FIELD) != 0;
+    }
+
+    /**
+     * Writes only the links that changed since the last save. Does not touch
+     * the associations file if no link changed.
+     */
+    private void saveChangedAssociations() {
+        List<Long> added = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        drainLinkChanges(added, removed);
+        saveLinkChanges(added, removed);
+    }
+
+    /**
+     * @param added   is filled with the movie-performer pairs that were linked
+     *                since the last save.
+     * @param removed is filled with the pairs that were unlinked.
+     */
+    private void drainLinkChanges(List<Long> added, List<Long> removed) {
+        Map<Integer, LinkChanges> changes = movieManagerModel
+                .drainLinkChanges();
+        changes.forEach((movieId, linkChanges) -> {
+            for (int performerId : linkChanges.getAddedPerformerIds()) {
+                added.add(AssociationStorageManager.pair(movieId,
+                        performerId));
+            }
+            for (int performerId : linkChanges.getRemovedPerformerIds()) {
+                removed.add(AssociationStorageManager.pair(movieId,
+                        performerId));
+            }
+        });
+    }
+
+    private void saveLinkChanges(Collection<Long> added,
+                                 Collection<Long> removed) {
+        if (associationsOutOfSync) {
+            invalidateSnapshot();
+            moviePerformerAssociationStorageManager.saveToStorage(
+                    movieManagerModel.getMoviePerformerAssociations());
+            associationsOutOfSync = false;
+            return;
+        }
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        invalidateSnapshot();
+        associationsOutOfSync = !moviePerformerAssociationStorageManager
+                .saveChanges(added, removed);
+    }
+
+    AssociationStorageManager<Movie, Performer> getMoviePerformerAssociationStorageManager() {
+        return moviePerformerAssociationStorageManager;
     }
 
     @Override
     public Performer savePerformerToFile(Performer performer) {
-        performerStorageManager.saveToStorage(performer);
-        moviePerformerAssociationStorageManager.saveToStorage(
-                movieManagerModel.getMoviePerformerAssociations());
-        saveImage(performer.getImage());
+        saveIfDirty(performer, performerStorageManager);
+        saveChangedAssociations();
         return performer;
     }
 
@@ -143,25 +460,181 @@ public class StorageManagerImpl implements StorageManager {
 
     @Override
     public boolean deleteMovieFile(Movie movie) {
+        invalidateSnapshot();
+        saveHighWaterMarks();
         movieManagerModel
                 .removeMovie(movie); // just in case it was not removed yet
         movieStorageManager.remove(movie);
-        saveAllAssociations();
+        saveChangedAssociations();
         removeImageFromStorage(movie.getImage());
         return true;
     }
 
     @Override
     public boolean deletePerformerFile(Performer performer) {
+        invalidateSnapshot();
+        saveHighWaterMarks();
         movieManagerModel.removePerformer(
                 performer); // just in case it was not removed yet
         performerStorageManager.remove(performer);
-        moviePerformerAssociationStorageManager.saveToStorage(
-                movieManagerModel.getMoviePerformerAssociations());
+        saveChangedAssociations();
         removeImageFromStorage(performer.getImage());
         return true;
     }
 
+    /**
+     * Commits all operations of the transaction at once: The {@link
+     * TransactionLog} is committed first, then the data objects are written,
+     * the associations are written once, and the images are saved or
+     * deleted. If the app is killed in between, the log is applied again at
+     * the next startup.
+     *
+     * @param transaction saves and deletions of {@link Movie}s and {@link
+     *                    Performer}s.
+     */
+    @Override
+    public void commit(StorageTransaction transaction) {
+        // just in case the objects were not removed yet
+        transaction.getDeletedMovies().forEach(movieManagerModel::removeMovie);
+        transaction.getDeletedPerformers()
+                .forEach(movieManagerModel::removePerformer);
+
+        List<ModelObjectWithImage> savedObjects = new ArrayList<>(
+                transaction.getSavedMovies());
+        savedObjects.addAll(transaction.getSavedPerformers());
+        List<Identifiable> dirtyObjects = new ArrayList<>();
+        Map<Identifiable, Integer> dirtyFieldsOf = new IdentityHashMap<>();
+        List<ImagePyramid> dirtyImages = new ArrayList<>();
+        for (ModelObjectWithImage object : savedObjects) {
+            int dirtyFields = object.clearDirtyFields();
+            if (dirtyFields != 0) {
+                dirtyObjects.add(object);
+                dirtyFieldsOf.put(object, dirtyFields);
+            }
+            if (isImageDirty(dirtyFields)) {
+                dirtyImages.add(object.getImage());
+            }
+        }
+        List<Long> added = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        drainLinkChanges(added, removed);
+        if (dirtyObjects.isEmpty() && transaction.getDeletedMovies().isEmpty()
+                && transaction.getDeletedPerformers().isEmpty()
+                && added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        invalidateSnapshot();
+        if (!transaction.getDeletedMovies().isEmpty()
+                || !transaction.getDeletedPerformers().isEmpty()) {
+            saveHighWaterMarks();
+        }
+        TransactionLog log = new TransactionLog(dirtyObjects,
+                idsOf(transaction.getDeletedMovies()),
+                idsOf(transaction.getDeletedPerformers()), added, removed);
+
+        boolean committed = true;
+        try {
+            log.commit(transactionFile, mapper);
+        } catch (IOException e) {
+            Log.e("commit", "Transaction log could not be written: " + e);
+            committed = false;
+        }
+        // objects that could not be written are written again by the next
+        // save, the log is not kept because it would overwrite that save
+        for (Identifiable object : apply(log)) {
+            ((ModelObjectWithImage) object).markDirty(
+                    dirtyFieldsOf.get(object));
+        }
+        if (committed) {
+            deleteTransactionLog();
+        }
+
+        dirtyImages.forEach(this::saveImage);
+        transaction.getDeletedMovies()
+                .forEach(movie -> removeImageFromStorage(movie.getImage()));
+        transaction.getDeletedPerformers().forEach(
+                performer -> removeImageFromStorage(performer.getImage()));
+    }
+
+    private static List<Integer> idsOf(List<? extends Identifiable> objects) {
+        List<Integer> ids = new ArrayList<>(objects.size());
+        objects.forEach(object -> ids.add(object.getId()));
+        return ids;
+    }
+
+    /**
+     * Writes the data objects and the associations of the log. Images are not
+     * part of the log.
+     *
+     * @return saved objects of the log that could not be written.
+     */
+    private List<Identifiable> apply(TransactionLog log) {
+        List<Identifiable> unsavedObjects = new ArrayList<>();
+        for (Identifiable object : log.getSavedObjects()) {
+            boolean saved = true;
+            if (object instanceof Movie) {
+                saved = movieStorageManager.saveToStorage((Movie) object);
+            } else if (object instanceof Performer) {
+                saved = performerStorageManager.saveToStorage(
+                        (Performer) object);
+            }
+            if (!saved) {
+                unsavedObjects.add(object);
+            }
+        }
+        log.getDeletedMovieIds()
+                .forEach(id -> movieStorageManager.remove(new Movie(id)));
+        log.getDeletedPerformerIds().forEach(
+                id -> performerStorageManager.remove(new Performer(id)));
+        saveLinkChanges(log.getAddedLinks(), log.getRemovedLinks());
+        return unsavedObjects;
+    }
+
+    /**
+     * Applies the log of a transaction that was committed but not completely
+     * written, e.g. because the app was killed.
+     */
+    private void redoInterruptedTransaction() {
+        Optional<TransactionLog> log = TransactionLog.read(transactionFile,
+                mapper);
+        if (log.isEmpty()) {
+            return;
+        }
+        deleteSnapshot();
+        apply(log.get());
+        log.get().getDeletedMovieIds().forEach(
+                id -> deleteImageFiles(new ImagePyramid(id, Movie.class)));
+        log.get().getDeletedPerformerIds().forEach(
+                id -> deleteImageFiles(new ImagePyramid(id, Performer.class)));
+        deleteTransactionLog();
+    }
+
+    private void deleteTransactionLog() {
+        try {
+            FileUtils.delete(transactionFile);
+        } catch (IOException e) {
+            Log.e("deleteTransactionLog", format("Couldn't delete '%s'.",
+                    transactionFile));
+        }
+    }
+
+    /**
+     * Deletes the image files in this storage. Used during startup, when the
+     * image paths of the {@link StorageManagerAccess} are not available yet.
+     */
+    private void deleteImageFiles(ImagePyramid imagePyramid) {
+        for (ImagePyramid.ImageSize size : ImagePyramid.ImageSize.values()) {
+            File file = new File(imagePath + File.separator + size.folder
+                    + File.separator + imagePyramid.getFileName());
+            try {
+                FileUtils.delete(file);
+            } catch (IOException e) {
+                Log.e("deleteImageFiles", format("Couldn't delete '%s'.",
+                        file));
+            }
+        }
+    }
+
     private void removeImageFromStorage(ImagePyramid imagePyramid) {
         imagePyramid.setBitmap((Bitmap) null);
         saveImage(imagePyramid);
@@ -211,6 +684,8 @@ public class StorageManagerImpl implements StorageManager {
 
     @Override
     public void selfDestruct() {
+        closeDataObjectStorageManagers();
+        snapshotUpToDate = false;
         Stream<File> stream = walk(homeDirectory);
         stream.forEach(file -> {
             try {
@@ -0,0 +1,74 @@
+package de.uhd.ifi.se.moviemanager.storage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.Performer;
+
+/**
+ * Collects several saves and deletions of {@link Movie}s and {@link
+ * Performer}s that are committed together, see {@link
+ * StorageManager#beginTransaction()} and {@link
+ * StorageManager#commit(StorageTransaction)}.
+ * <p>
+ * Operations on the same object are merged: only the last operation of an
+ * object is performed, e.g. a movie that is saved and deleted afterwards is
+ * only deleted.
+ */
+public class StorageTransaction {
+    // @decision Linked hash maps keep the order of the operations and allow
+    // to merge the operations per id.
+    private final Map<Integer, Movie> savedMovies = new LinkedHashMap<>();
+    private final Map<Integer, Performer> savedPerformers =
+            new LinkedHashMap<>();
+    private final Map<Integer, Movie> deletedMovies = new LinkedHashMap<>();
+    private final Map<Integer, Performer> deletedPerformers =
+            new LinkedHashMap<>();
+
+    public void saveMovie(Movie movie) {
+        deletedMovies.remove(movie.getId());
+        savedMovies.put(movie.getId(), movie);
+    }
+
+    public void savePerformer(Performer performer) {
+        deletedPerformers.remove(performer.getId());
+        savedPerformers.put(performer.getId(), performer);
+    }
+
+    public void deleteMovie(Movie movie) {
+        savedMovies.remove(movie.getId());
+        deletedMovies.put(movie.getId(), movie);
+    }
+
+    public void deletePerformer(Performer performer) {
+        savedPerformers.remove(performer.getId());
+        deletedPerformers.put(performer.getId(), performer);
+    }
+
+    /**
+     * @return true if the transaction contains no operation.
+     */
+    public boolean isEmpty() {
+        return savedMovies.isEmpty() && savedPerformers.isEmpty() &&
+                deletedMovies.isEmpty() && deletedPerformers.isEmpty();
+    }
+
+    List<Movie> getSavedMovies() {
+        return new ArrayList<>(savedMovies.values());
+    }
+
+    List<Performer> getSavedPerformers() {
+        return new ArrayList<>(savedPerformers.values());
+    }
+
+    List<Movie> getDeletedMovies() {
+        return new ArrayList<>(deletedMovies.values());
+    }
+
+    List<Performer> getDeletedPerformers() {
+        return new ArrayList<>(deletedPerformers.values());
+    }
+}
@@ -0,0 +1,104 @@
+package de.uhd.ifi.se.moviemanager.storage;
+
+import static java.lang.String.format;
+
+import android.util.Log;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import de.uhd.ifi.se.moviemanager.model.Identifiable;
+import de.uhd.ifi.se.moviemanager.util.FileUtils;
+
+/**
+ * Redo log of a committed {@link StorageTransaction}. The {@link
+ * StorageManagerImpl} writes the log to a temporary file and renames it
+ * before it changes any stored file. The rename is the commit point: If the
+ * app is killed while the changes are written, the log is applied again at the
+ * next startup. All operations in the log are idempotent.
+ */
+final class TransactionLog {
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final List<Identifiable> savedObjects;
+    private final List<Integer> deletedMovieIds;
+    private final List<Integer> deletedPerformerIds;
+    // movie-performer pairs, see AssociationStorageManager#pair(int, int)
+    private final List<Long> addedLinks;
+    private final List<Long> removedLinks;
+
+    @JsonCreator
+    TransactionLog(@JsonProperty("savedObjects") List<Identifiable> savedObjects,
+                   @JsonProperty("deletedMovieIds") List<Integer> deletedMovieIds,
+                   @JsonProperty("deletedPerformerIds") List<Integer> deletedPerformerIds,
+                   @JsonProperty("addedLinks") List<Long> addedLinks,
+                   @JsonProperty("removedLinks") List<Long> removedLinks) {
+        this.savedObjects = savedObjects;
+        this.deletedMovieIds = deletedMovieIds;
+        this.deletedPerformerIds = deletedPerformerIds;
+        this.addedLinks = addedLinks;
+        this.removedLinks = removedLinks;
+    }
+
+    public List<Identifiable> getSavedObjects() {
+        return savedObjects;
+    }
+
+    public List<Integer> getDeletedMovieIds() {
+        return deletedMovieIds;
+    }
+
+    public List<Integer> getDeletedPerformerIds() {
+        return deletedPerformerIds;
+    }
+
+    public List<Long> getAddedLinks() {
+        return addedLinks;
+    }
+
+    public List<Long> getRemovedLinks() {
+        return removedLinks;
+    }
+
+    /**
+     * Commits the log, i.e., writes it to a temporary file and renames it.
+     *
+     * @param file   of the log.
+     * @param mapper JSON object mapper, see {@link
+     *               DataObjectStorageManager#createObjectMapper()}.
+     */
+    void commit(File file, ObjectMapper mapper) throws IOException {
+        File temporary = new File(file.getPath() + TEMPORARY_SUFFIX);
+        mapper.writeValue(temporary, this);
+        if (!temporary.renameTo(file)) {
+            FileUtils.delete(temporary);
+            throw new IOException(format("Couldn't replace '%s'.", file));
+        }
+    }
+
+    /**
+     * @param file   of the log.
+     * @param mapper JSON object mapper, see {@link
+     *               DataObjectStorageManager#createObjectMapper()}.
+     * @return committed log or an empty optional if no transaction was
+     * interrupted.
+     */
+    static Optional<TransactionLog> read(File file, ObjectMapper mapper) {
+        if (!file.exists()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(mapper.readValue(file, TransactionLog.class));
+        } catch (IOException e) {
+            Log.e("readTransactionLog", format("'%s' could not be read: %s",
+                    file, e));
+            return Optional.empty();
+        }
+    }
+}
@@ -1,18 +1,21 @@
 package de.uhd.ifi.se.moviemanager.ui.adapter;
 
 import static de.uhd.ifi.se.moviemanager.model.ImagePyramid.ImageSize.MEDIUM;
-import static de.uhd.ifi.se.moviemanager.ui.detail.DetailActivity.CURRENT_OBJECT;
+import static de.uhd.ifi.se.moviemanager.ui.detail.DetailActivity.putCurrentObject;
 
 import android.app.Activity;
 import android.content.Context;
 import android.content.Intent;
 import android.graphics.Canvas;
+import android.os.Handler;
+import android.os.Looper;
 import android.os.Parcelable;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.ItemTouchHelper;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.recyclerview.widget.RecyclerView.ItemDecoration;
@@ -20,9 +23,16 @@ import androidx.recyclerview.widget.RecyclerView.ViewHolder;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import de.uhd.ifi.se.moviemanager.R;
@@ -41,6 +51,7 @@ import de.uhd.ifi.se.moviemanager.ui.master.HeaderViewHolder;
 import de.uhd.ifi.se.moviemanager.ui.master.MovieMasterFragment;
 import de.uhd.ifi.se.moviemanager.ui.master.SwipeController;
 import de.uhd.ifi.se.moviemanager.ui.master.comparator.CategorizedComparator;
+import de.uhd.ifi.se.moviemanager.ui.master.comparator.SortEngine;
 import de.uhd.ifi.se.moviemanager.ui.view.SortingMenuItem;
 
 /**
@@ -62,10 +73,44 @@ public class DataRVAdapter<T extends Identifiable & Nameable & ImageBased & Parc
     private String filterString;
     private SortingMenuItem<T> selectedSortingMenuItem;
     /**
-     * @decision We store the sorted, filtered, and categorized list entries in
-     * a LinkedHashMap with categories as keys and model objects as values!
+     * @decision The categorized data is flattened into the rows of the list,
+     * i.e., category names for the headers and model objects, whenever it is
+     * computed. Thus, rows are counted and bound in constant time.
+     * @decision The differ compares the new rows to the shown rows on a
+     * background thread and only updates the changed rows.
      */
-    private Map<String, List<T>> categorizedData;
+    private final AsyncListDiffer<ModelObjectRow<T>> rows =
+            new AsyncListDiffer<>(this, ModelObjectRow.diffCallback());
+
+    // @decision The rows are sorted, filtered and categorized on one worker
+    // thread, so that typing in the search box does not block the UI
+    // thread. Only the result of the latest refresh is shown.
+    private static final ExecutorService REFRESH_EXECUTOR = Executors
+            .newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "list-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+    // time without keystrokes after which the list is filtered
+    private static final long FILTER_DELAY_MILLIS = 150;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable delayedRefresh = () -> refresh(null);
+    // numbers the refreshes, a refresh is outdated if a newer one started
+    private final AtomicInteger refreshCount = new AtomicInteger();
+    private Future<?> runningRefresh;
+    // called after the next rows are shown, on the UI thread
+    private final List<Runnable> afterUpdates = new ArrayList<>();
+    // values of the model objects that the list is sorted and filtered by,
+    // null if they must be read again
+    // @decision The entries are read on the UI thread when the model objects
+    // or the sorting criterion change, and only for the changed objects, so
+    // that a refresh that only changes the filter reads no model object.
+    private List<ListEntry<T>> entries;
+    // sorting criterion that the entries were read for
+    private CategorizedComparator<T> entriesComparator;
+    // only used on the worker thread
+    private final IncrementalFilter<ListEntry<T>> incrementalFilter =
+            new IncrementalFilter<>(ListEntry::getName);
 
     /**
      * @param dataMasterFragment      e.g. {@link MovieMasterFragment} that
@@ -100,64 +145,157 @@ public class DataRVAdapter<T extends Identifiable & Nameable & ImageBased & Parc
                               String filterString) {
         this.filterString = filterString;
         selectedSortingMenuItem = selectedItem;
-        CategorizedComparator<T> categorizedComparator = selectedItem
+        refresh(null);
+    }
+
+    /**
+     * Sorts, categorizes and filters the model objects on a worker thread and
+     * updates the changed rows of the {@link RecyclerView} afterwards. Stops
+     * the refresh that is still running, if any.
+     *
+     * @param afterUpdate called after the rows were updated, may be null.
+     */
+    private void refresh(Runnable afterUpdate) {
+        mainHandler.removeCallbacks(delayedRefresh);
+        if (afterUpdate != null) {
+            afterUpdates.add(afterUpdate);
+        }
+        CategorizedComparator<T> categorizedComparator = selectedSortingMenuItem
                 .getCategorizedComparator();
         if (modelData == null || categorizedComparator == null) {
             return;
         }
-        if (selectedItem.isDescending()) {
-            modelData.sort(categorizedComparator.reversed());
-        } else {
-            modelData.sort(categorizedComparator);
+        int refreshNumber = refreshCount.incrementAndGet();
+        if (runningRefresh != null) {
+            runningRefresh.cancel(false);
         }
-        List<T> filteredData = filter(modelData, filterString);
-        categorizedData = categorizeData(filteredData, categorizedComparator);
-        notifyDataSetChanged();
+        // @decision The worker gets the names, keys and texts that were read
+        // on the UI thread, because the model objects are changed on the UI
+        // thread and must not be read on the worker. It sorts a copy, because
+        // the entries are updated on the UI thread meanwhile.
+        if (entries == null || entriesComparator != categorizedComparator) {
+            entries = ListEntry.of(modelData, categorizedComparator);
+            entriesComparator = categorizedComparator;
+        }
+        List<ListEntry<T>> sortedEntries = new ArrayList<>(entries);
+        CategorizedComparator<ListEntry<T>> entryComparator = ListEntry
+                .comparatorOf(categorizedComparator);
+        boolean descending = selectedSortingMenuItem.isDescending();
+        String filter = filterString;
+        runningRefresh = REFRESH_EXECUTOR.submit(() -> {
+            SortEngine.sort(sortedEntries, entryComparator, descending);
+            List<ListEntry<T>> filteredData = filter(sortedEntries, filter,
+                    refreshNumber);
+            if (filteredData == null) {
+                return;
+            }
+            Map<String, List<ListEntry<T>>> categorized = categorizeData(
+                    filteredData, entryComparator);
+            List<ModelObjectRow<T>> flattened = flatten(categorized,
+                    filteredData.size());
+            mainHandler.post(() -> show(refreshNumber, flattened));
+        });
     }
 
     /**
-     * @param modelObjects e.g. {@link Movie}s to be filtered by substring.
-     * @param filterString e.g. the {@link Movie} title must contain the String
-     *                     to be included in the list.
-     * @return model objects (e.g. {@link Movie}s) that contain the filter
-     * String.
+     * Shows the rows of the refresh on the UI thread, unless a newer refresh
+     * was started meanwhile.
      */
-    private List<T> filter(List<T> modelObjects, String filterString) {
-        if (filterString.length() == 0) {
-            return modelObjects;
+    private void show(int refreshNumber, List<ModelObjectRow<T>> flattened) {
+        if (isOutdated(refreshNumber)) {
+            return;
         }
-        List<T> filteredModelObjects = new ArrayList<>();
-        for (T modelObject : modelObjects) {
-            if (modelObject.getName().toLowerCase()
-                    .contains(filterString.toLowerCase())) {
-                filteredModelObjects.add(modelObject);
-            }
+        // @decision The differ drops the commit callback of a list that is
+        // replaced by a newer list before it is shown. Thus, the callbacks
+        // stay pending until a list that was submitted after them is shown.
+        List<Runnable> callbacks = new ArrayList<>(afterUpdates);
+        rows.submitList(flattened, () -> {
+            afterUpdates.removeAll(callbacks);
+            callbacks.forEach(Runnable::run);
+        });
+    }
+
+    private boolean isOutdated(int refreshNumber) {
+        return refreshNumber != refreshCount.get();
+    }
+
+    /**
+     * @param entries       e.g. entries of {@link Movie}s to be filtered by
+     *                      substring.
+     * @param filterString  e.g. the {@link Movie} title must contain the
+     *                      String to be included in the list.
+     * @param refreshNumber of the refresh that filters.
+     * @return entries whose names contain the filter String, or null if a
+     * newer refresh was started meanwhile.
+     */
+    private List<ListEntry<T>> filter(List<ListEntry<T>> entries,
+                                      String filterString, int refreshNumber) {
+        if (isOutdated(refreshNumber)) {
+            return null;
         }
-        return filteredModelObjects;
+        return incrementalFilter.filter(entries, filterString,
+                () -> isOutdated(refreshNumber));
     }
 
     /**
-     * @param modelObjects          e.g. {@link Movie}s to be categorized.
+     * @param entries               e.g. entries of {@link Movie}s to be
+     *                              categorized.
      * @param categorizedComparator {@link CategorizedComparator}.
      * @return map with categories (e.g. A, B, C for name) as keys and list of
-     * model objects that fall into the category as values.
+     * entries that fall into the category as values.
+     * @decision We store the sorted, filtered, and categorized list entries in
+     * a LinkedHashMap with categories as keys and model objects as values!
      */
-    private Map<String, List<T>> categorizeData(List<T> modelObjects,
-                                                CategorizedComparator<T> categorizedComparator) {
-        categorizedData = new LinkedHashMap<>();
-        for (T modelObject : modelObjects) {
-            String category = categorizedComparator
-                    .getCategoryNameFor(modelObject);
-            List<T> objectsPerCategory = categorizedData.get(category);
-            if (objectsPerCategory == null) {
-                objectsPerCategory = new ArrayList<>();
+    private Map<String, List<ListEntry<T>>> categorizeData(
+            List<ListEntry<T>> entries,
+            CategorizedComparator<ListEntry<T>> categorizedComparator) {
+        Map<String, List<ListEntry<T>>> categorizedData =
+                new LinkedHashMap<>();
+        for (ListEntry<T> entry : entries) {
+            String category = categorizedComparator.getCategoryNameFor(entry);
+            List<ListEntry<T>> entriesPerCategory = categorizedData
+                    .get(category);
+            if (entriesPerCategory == null) {
+                entriesPerCategory = new ArrayList<>();
             }
-            objectsPerCategory.add(modelObject);
-            categorizedData.put(category, objectsPerCategory);
+            entriesPerCategory.add(entry);
+            categorizedData.put(category, entriesPerCategory);
         }
         return categorizedData;
     }
 
+    /**
+     * @param categorizedData categories with their entries.
+     * @param entryCount      number of entries in all categories.
+     * @return headers and model objects in the order of the rows.
+     */
+    private List<ModelObjectRow<T>> flatten(
+            Map<String, List<ListEntry<T>>> categorizedData, int entryCount) {
+        List<ModelObjectRow<T>> flattened = new ArrayList<>(
+                categorizedData.size() + entryCount);
+        for (Map.Entry<String, List<ListEntry<T>>> category :
+                categorizedData.entrySet()) {
+            flattened.add(ModelObjectRow.header(category.getKey()));
+            for (ListEntry<T> entry : category.getValue()) {
+                flattened.add(ModelObjectRow.of(entry));
+            }
+        }
+        return flattened;
+    }
+
+    /**
+     * Filters the list like {@link #sortAndFilter(String)} as soon as the user
+     * stops typing for a moment, so that the list is not refreshed for every
+     * keystroke.
+     *
+     * @param filterString entered by the user.
+     */
+    public void sortAndFilterDelayed(String filterString) {
+        this.filterString = filterString;
+        mainHandler.removeCallbacks(delayedRefresh);
+        mainHandler.postDelayed(delayedRefresh, FILTER_DELAY_MILLIS);
+    }
+
     /**
      * Sorts, categorizes and filters the list of e.g. {@link Movie}s by the
      * preset sorting criterion.
@@ -187,8 +325,8 @@ public class DataRVAdapter<T extends Identifiable & Nameable & ImageBased & Parc
      */
     public void createObject() {
         Intent intent = new Intent(context, getDetailEditActivity());
-        intent.putExtra(CURRENT_OBJECT, (T) null);
-        host.afterCreationLauncher.launch(intent);
+        putCurrentObject(intent, null);
+        host.startActivity(intent);
     }
 
     /**
@@ -218,8 +356,8 @@ public class DataRVAdapter<T extends Identifiable & Nameable & ImageBased & Parc
      */
     private void navigateToDetailsOf(@NonNull T modelObject) {
         Intent intent = new Intent(context, getDetailActivity());
-        intent.putExtra(CURRENT_OBJECT, modelObject);
-        host.afterUpdateLauncher.launch(intent);
+        putCurrentObject(intent, modelObject);
+        host.startActivity(intent);
     }
 
     /**
@@ -279,10 +417,104 @@ public class DataRVAdapter<T extends Identifiable & Nameable & ImageBased & Parc
      * @param modelObject e.g. {@link Movie} to be deleted.
      */
     public void removeModelObject(T modelObject) {
-        modelData.remove(modelObject);
+        removeModelObject(modelObject.getId());
+    }
+
+    /**
+     * Removes the list entry of the model object, e.g. after it was removed
+     * from the model. Only the changed rows are updated.
+     *
+     * @param id of e.g. the {@link Movie} to be removed.
+     */
+    public void removeModelObject(int id) {
+        updateModelObjects(Collections.emptyList(), Collections.singleton(id));
+    }
+
+    /**
+     * Adds or updates the list entries of the changed model objects and
+     * removes the entries of the removed ones, e.g. after the model changed.
+     * The list is refreshed once and only the changed rows are updated.
+     *
+     * @param changedObjects e.g. {@link Movie}s that were added or edited.
+     * @param removedIds     ids of e.g. the {@link Movie}s that were removed.
+     */
+    public void updateModelObjects(Collection<T> changedObjects,
+                                   Set<Integer> removedIds) {
+        boolean removed = modelData.removeIf(
+                modelObject -> removedIds.contains(modelObject.getId()));
+        if (removed && entries != null) {
+            entries.removeIf(entry -> removedIds.contains(
+                    entry.getModelObject().getId()));
+        }
+        if (changedObjects.isEmpty()) {
+            if (removed) {
+                refresh(null);
+            }
+            return;
+        }
+        Map<Integer, Integer> indices = new HashMap<>();
+        for (int i = 0; i < modelData.size(); i++) {
+            indices.put(modelData.get(i).getId(), i);
+        }
+        // the entries are in the order of the model objects if they have keys
+        if (entries != null && !ListEntry.hasKey(entriesComparator)) {
+            entries = null;
+        }
+        for (T modelObject : changedObjects) {
+            Integer index = indices.get(modelObject.getId());
+            ListEntry<T> entry = entries == null ? null :
+                    ListEntry.of(modelObject, entriesComparator);
+            if (index == null) {
+                indices.put(modelObject.getId(), modelData.size());
+                modelData.add(modelObject);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            } else {
+                modelData.set(index, modelObject);
+                if (entry != null) {
+                    entries.set(index, entry);
+                }
+            }
+        }
+        // the texts of the rows might be the same but e.g. the image changed
+        refresh(() -> {
+            for (T modelObject : changedObjects) {
+                int position = positionOf(modelObject.getId());
+                if (position >= 0) {
+                    notifyItemChanged(position);
+                }
+            }
+        });
+    }
+
+    /**
+     * Replaces all model objects, e.g. after the model was loaded.
+     *
+     * @param modelObjects e.g. all {@link Movie}s of the model.
+     */
+    public void setModelObjects(Collection<T> modelObjects) {
+        modelData.clear();
+        modelData.addAll(modelObjects);
+        entries = null;
         sortAndFilter();
     }
 
+    /**
+     * @return position of the model object in the {@link RecyclerView} list or
+     * -1 if it is not shown, e.g. because it is filtered out.
+     */
+    private int positionOf(int id) {
+        List<ModelObjectRow<T>> shownRows = rows.getCurrentList();
+        for (int position = 0; position < shownRows.size(); position++) {
+            ModelObjectRow<T> row = shownRows.get(position);
+            if (!row.isHeader() && row.getModelObject().getId() == id) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
     /**
      * @param parent   recycler view that the view holder is added to.
      * @param viewType 1 if a {@link HeaderViewHolder} or 0 if a {@link
@@ -342,20 +574,12 @@ public class DataRVAdapter<T extends Identifiable & Nameable & ImageBased & Parc
      * the position.
      */
     private Object getElementByPosition(int position) {
-        int index = 0;
-        for (Map.Entry<String, List<T>> entry : categorizedData.entrySet()) {
-            if (index == position) {
-                return entry.getKey();
-            }
-            ++index;
-            for (T modelObject : entry.getValue()) {
-                if (index == position) {
-                    return modelObject;
-                }
-                ++index;
-            }
+        List<ModelObjectRow<T>> shownRows = rows.getCurrentList();
+        if (position < 0 || position >= shownRows.size()) {
+            return null;
         }
-        return null;
+        ModelObjectRow<T> row = shownRows.get(position);
+        return row.isHeader() ? row.getCategory() : row.getModelObject();
     }
 
     @Override
@@ -396,8 +620,7 @@ public class DataRVAdapter<T extends Identifiable & Nameable & ImageBased & Parc
      */
     @Override
     public int getItemCount() {
-        return (int) (categorizedData.keySet().size() + (categorizedData
-                .values().stream().flatMap(Collection::stream).count()));
+        return rows.getCurrentList().size();
     }
 
     /**
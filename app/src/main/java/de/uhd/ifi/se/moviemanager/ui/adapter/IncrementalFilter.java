@@ -0,0 +1,114 @@
+package de.uhd.ifi.se.moviemanager.ui.adapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Filters objects by a substring of their names, e.g. the {@link
+ * de.uhd.ifi.se.moviemanager.model.Movie}s in the master view. If the new
+ * filter string contains the previous one, e.g. "star" after "sta", only the
+ * previous matches are checked again.
+ * <p>
+ * Not thread-safe, an instance is only used by one thread.
+ *
+ * @param <T> e.g. {@link ListEntry}.
+ */
+final class IncrementalFilter<T> {
+    // number of checked objects after which the filter asks for cancellation
+    private static final int CANCELLATION_CHECK_INTERVAL = 1024;
+
+    private final Function<? super T, String> nameOf;
+    // names of the objects of the last filter and their lower case names
+    // @decision The lower case names are computed once per change of the
+    // names instead of once per object per keystroke.
+    private String[] names = new String[0];
+    private String[] lowerCaseNames = new String[0];
+    // lower case filter string of the last filter and the indexes of its
+    // matches in ascending order, null if all objects matched
+    private String lastFilter;
+    private int[] matches;
+    private int matchCount;
+
+    /**
+     * @param nameOf provides the name of an object, e.g. {@link
+     *               ListEntry#getName()}.
+     */
+    IncrementalFilter(Function<? super T, String> nameOf) {
+        this.nameOf = nameOf;
+    }
+
+    /**
+     * @param objects      e.g. sorted movies. Matches keep their order.
+     * @param filterString the names must contain it, case is ignored.
+     * @param isCancelled  true if the result is not needed anymore.
+     * @return objects whose names contain the filter string, or null if the
+     * filter was cancelled.
+     */
+    List<T> filter(List<T> objects, String filterString,
+                   BooleanSupplier isCancelled) {
+        if (!hasSameNames(objects)) {
+            index(objects);
+        }
+        String filter = filterString.toLowerCase();
+        if (filter.isEmpty()) {
+            lastFilter = filter;
+            matches = null;
+            return objects;
+        }
+
+        boolean narrowing = lastFilter != null && filter.contains(lastFilter);
+        int candidateCount = narrowing && matches != null ? matchCount :
+                objects.size();
+        int[] newMatches = new int[candidateCount];
+        int newMatchCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            if (i % CANCELLATION_CHECK_INTERVAL == 0
+                    && isCancelled.getAsBoolean()) {
+                return null;
+            }
+            int index = narrowing && matches != null ? matches[i] : i;
+            if (lowerCaseNames[index].contains(filter)) {
+                newMatches[newMatchCount++] = index;
+            }
+        }
+        lastFilter = filter;
+        matches = newMatches;
+        matchCount = newMatchCount;
+
+        List<T> result = new ArrayList<>(matchCount);
+        for (int i = 0; i < matchCount; i++) {
+            result.add(objects.get(matches[i]));
+        }
+        return result;
+    }
+
+    /**
+     * @return true if the objects have the names of the indexed objects in the
+     * same order, so that the matches of the last filter refer to them.
+     */
+    private boolean hasSameNames(List<T> objects) {
+        if (objects.size() != names.length) {
+            return false;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (!names[i].equals(nameOf.apply(objects.get(i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void index(List<T> objects) {
+        names = new String[objects.size()];
+        lowerCaseNames = new String[objects.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = nameOf.apply(objects.get(i));
+            lowerCaseNames[i] = names[i].toLowerCase();
+        }
+        // the matches refer to the previous objects
+        lastFilter = null;
+        matches = null;
+    }
+}
@@ -0,0 +1,169 @@
+package de.uhd.ifi.se.moviemanager.ui.adapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+import de.uhd.ifi.se.moviemanager.model.Identifiable;
+import de.uhd.ifi.se.moviemanager.model.Nameable;
+import de.uhd.ifi.se.moviemanager.ui.master.comparator.CategorizedComparator;
+import de.uhd.ifi.se.moviemanager.ui.master.comparator.SortEngine;
+
+/**
+ * Model object, e.g. a {@link de.uhd.ifi.se.moviemanager.model.Movie}, with
+ * the texts and the sort key that the list shows and sorts it by. The values
+ * are read on the UI thread, so that the list can be sorted and filtered on a
+ * worker thread while the model objects are changed on the UI thread.
+ *
+ * @param <T> e.g. {@link de.uhd.ifi.se.moviemanager.model.Movie}.
+ */
+final class ListEntry<T extends Identifiable & Nameable> {
+    private final T modelObject;
+    private final String name;
+    private final String category;
+    private final String subText;
+    // either the numeric or the text key is used, see KeyComparator
+    private final double numericKey;
+    private final String textKey;
+
+    private ListEntry(T modelObject, String category, String subText,
+                      double numericKey, String textKey) {
+        this.modelObject = modelObject;
+        name = modelObject.getName();
+        this.category = category;
+        this.subText = subText;
+        this.numericKey = numericKey;
+        this.textKey = textKey;
+    }
+
+    /**
+     * Reads the values of the model objects. Must be called on the thread
+     * that changes the model objects, i.e., the UI thread.
+     *
+     * @param modelObjects e.g. all {@link
+     *                     de.uhd.ifi.se.moviemanager.model.Movie}s of the list.
+     * @param comparator   sorting criterion that provides the sort keys, the
+     *                     categories and the sub texts.
+     * @return entries in the order of the model objects if the comparator
+     * has a key, see {@link #hasKey(CategorizedComparator)}, otherwise in
+     * ascending order.
+     */
+    static <T extends Identifiable & Nameable> List<ListEntry<T>> of(
+            List<T> modelObjects, CategorizedComparator<T> comparator) {
+        List<ListEntry<T>> entries = new ArrayList<>(modelObjects.size());
+        if (hasKey(comparator)) {
+            for (T object : modelObjects) {
+                entries.add(of(object, comparator));
+            }
+            return entries;
+        }
+        // the objects are sorted here and their ranks are the keys
+        List<T> objects = new ArrayList<>(modelObjects);
+        SortEngine.sort(objects, comparator, false);
+        int rank = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            T object = objects.get(i);
+            // equal objects get equal ranks, so that sorting stays stable
+            if (i > 0 && comparator.compare(objects.get(i - 1), object) != 0) {
+                rank = i;
+            }
+            entries.add(new ListEntry<>(object,
+                    comparator.getCategoryNameFor(object),
+                    comparator.getSubText(object), rank, null));
+        }
+        return entries;
+    }
+
+    /**
+     * Reads the values of one model object, e.g. after it was changed. Must
+     * be called on the UI thread.
+     *
+     * @param modelObject e.g. a {@link de.uhd.ifi.se.moviemanager.model.Movie}
+     *                    of the list.
+     * @param comparator  sorting criterion with a key, see {@link
+     *                    #hasKey(CategorizedComparator)}.
+     * @return entry with the current values of the model object.
+     */
+    static <T extends Identifiable & Nameable> ListEntry<T> of(
+            T modelObject, CategorizedComparator<T> comparator) {
+        ToDoubleFunction<T> numericKey = comparator.getNumericKey();
+        // like the SortEngine, a numeric key is preferred to a text key
+        Function<T, String> textKey = numericKey == null ?
+                comparator.getTextKey() : null;
+        return new ListEntry<>(modelObject,
+                comparator.getCategoryNameFor(modelObject),
+                comparator.getSubText(modelObject),
+                numericKey == null ? 0 : numericKey.applyAsDouble(modelObject),
+                textKey == null ? null : textKey.apply(modelObject));
+    }
+
+    /**
+     * @return true if the comparator has a numeric or a text key. Otherwise,
+     * the keys of the entries are the ranks of all model objects and single
+     * entries cannot be read again.
+     */
+    static boolean hasKey(CategorizedComparator<?> comparator) {
+        return comparator.getNumericKey() != null
+                || comparator.getTextKey() != null;
+    }
+
+    /**
+     * @param comparator that the entries were created with, see {@link
+     *                   #of(List, CategorizedComparator)}.
+     * @return comparator of the entries that gives the same order and texts
+     * but only uses the values that were read from the model objects.
+     */
+    static <T extends Identifiable & Nameable> CategorizedComparator<ListEntry<T>> comparatorOf(
+            CategorizedComparator<T> comparator) {
+        return new KeyComparator<>(comparator.getNumericKey() == null
+                && comparator.getTextKey() != null);
+    }
+
+    T getModelObject() {
+        return modelObject;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getSubText() {
+        return subText;
+    }
+
+    private static final class KeyComparator<T extends Identifiable & Nameable>
+            implements CategorizedComparator<ListEntry<T>> {
+        private final boolean byText;
+
+        private KeyComparator(boolean byText) {
+            this.byText = byText;
+        }
+
+        @Override
+        public int compare(ListEntry<T> entry1, ListEntry<T> entry2) {
+            return byText ? entry1.textKey.compareTo(entry2.textKey) :
+                    Double.compare(entry1.numericKey, entry2.numericKey);
+        }
+
+        @Override
+        public ToDoubleFunction<ListEntry<T>> getNumericKey() {
+            return byText ? null : entry -> entry.numericKey;
+        }
+
+        @Override
+        public Function<ListEntry<T>, String> getTextKey() {
+            return byText ? entry -> entry.textKey : null;
+        }
+
+        @Override
+        public String getCategoryNameFor(ListEntry<T> entry) {
+            return entry.category;
+        }
+
+        @Override
+        public String getSubText(ListEntry<T> entry) {
+            return entry.subText;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package de.uhd.ifi.se.moviemanager.ui.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import de.uhd.ifi.se.moviemanager.model.Identifiable;
+import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.Nameable;
+import de.uhd.ifi.se.moviemanager.model.Performer;
+
+/**
+ * Row of a list in a {@link androidx.recyclerview.widget.RecyclerView}:
+ * either a header with a category name or a model object, e.g. a {@link
+ * Movie}. Keeps the texts that were shown when the row was created, so that
+ * {@link DiffUtil} can find the rows whose texts changed even though the model
+ * objects are changed in place.
+ *
+ * @param <T> {@link Movie} or {@link Performer} class.
+ */
+final class ModelObjectRow<T extends Identifiable & Nameable> {
+    private final String category;
+    private final T modelObject;
+    private final String title;
+    private final String subText;
+
+    private ModelObjectRow(String category, T modelObject, String title,
+                           String subText) {
+        this.category = category;
+        this.modelObject = modelObject;
+        this.title = title;
+        this.subText = subText;
+    }
+
+    static <T extends Identifiable & Nameable> ModelObjectRow<T> header(
+            String category) {
+        return new ModelObjectRow<>(category, null, category, null);
+    }
+
+    static <T extends Identifiable & Nameable> ModelObjectRow<T> of(
+            T modelObject, String subText) {
+        return new ModelObjectRow<>(null, modelObject, modelObject.getName(),
+                subText);
+    }
+
+    /**
+     * @return row with the texts that were read when the entry was created.
+     */
+    static <T extends Identifiable & Nameable> ModelObjectRow<T> of(
+            ListEntry<T> entry) {
+        return new ModelObjectRow<>(null, entry.getModelObject(),
+                entry.getName(), entry.getSubText());
+    }
+
+    /**
+     * @return rows of the model objects without sub texts.
+     */
+    static <T extends Identifiable & Nameable> List<ModelObjectRow<T>> of(
+            List<T> modelObjects) {
+        List<ModelObjectRow<T>> rows = new ArrayList<>(modelObjects.size());
+        for (T modelObject : modelObjects) {
+            rows.add(of(modelObject, null));
+        }
+        return rows;
+    }
+
+    boolean isHeader() {
+        return modelObject == null;
+    }
+
+    String getCategory() {
+        return category;
+    }
+
+    T getModelObject() {
+        return modelObject;
+    }
+
+    String getSubText() {
+        return subText;
+    }
+
+    /**
+     * @return callback that identifies headers by their category and model
+     * objects by their ids, and that detects changed texts.
+     */
+    static <T extends Identifiable & Nameable> DiffUtil.ItemCallback<ModelObjectRow<T>> diffCallback() {
+        return new DiffUtil.ItemCallback<ModelObjectRow<T>>() {
+            @Override
+            public boolean areItemsTheSame(@NonNull ModelObjectRow<T> oldRow,
+                                           @NonNull ModelObjectRow<T> newRow) {
+                if (oldRow.isHeader() || newRow.isHeader()) {
+                    return oldRow.isHeader() && newRow.isHeader()
+                            && oldRow.category.equals(newRow.category);
+                }
+                return oldRow.modelObject.getId() == newRow.modelObject.getId();
+            }
+
+            @Override
+            public boolean areContentsTheSame(@NonNull ModelObjectRow<T> oldRow,
+                                              @NonNull ModelObjectRow<T> newRow) {
+                return Objects.equals(oldRow.title, newRow.title)
+                        && Objects.equals(oldRow.subText, newRow.subText);
+            }
+        };
+    }
+}
@@ -12,6 +12,7 @@ import android.widget.TextView;
 
 import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.recyclerview.widget.RecyclerView.ViewHolder;
 
@@ -40,7 +41,10 @@ public class PosterAdapter<T extends Identifiable & ImageBased & Nameable & Parc
     private final Context context;
 
     // List of Movies or Performers
-    private final List<T> data;
+    // @decision The differ compares new data to the shown data on a
+    // background thread and only updates the changed posters.
+    private final AsyncListDiffer<ModelObjectRow<T>> data =
+            new AsyncListDiffer<>(this, ModelObjectRow.diffCallback());
     private final int itemLayout;
     private Consumer<T> onItemClick;
 
@@ -48,7 +52,7 @@ public class PosterAdapter<T extends Identifiable & ImageBased & Nameable & Parc
                          @LayoutRes int itemLayout) {
         this.context = context;
         this.itemLayout = itemLayout;
-        this.data = Objects.requireNonNull(data);
+        this.data.submitList(ModelObjectRow.of(Objects.requireNonNull(data)));
         onItemClick = t -> Log.d("LinkedDataAdapter", "onItemClick: " + t);
     }
 
@@ -68,7 +72,10 @@ public class PosterAdapter<T extends Identifiable & ImageBased & Nameable & Parc
     private void onItemClick(View view) {
         ViewHolder holder = (ViewHolder) view.getTag();
         int pos = holder.getBindingAdapterPosition();
-        T element = data.get(pos);
+        if (pos == RecyclerView.NO_POSITION) {
+            return;
+        }
+        T element = data.getCurrentList().get(pos).getModelObject();
         onItemClick.accept(element);
     }
 
@@ -83,7 +90,7 @@ public class PosterAdapter<T extends Identifiable & ImageBased & Nameable & Parc
             return;
         }
 
-        T element = data.get(position);
+        T element = data.getCurrentList().get(position).getModelObject();
         if (element == null) {
             return;
         }
@@ -98,17 +105,19 @@ public class PosterAdapter<T extends Identifiable & ImageBased & Nameable & Parc
 
     @Override
     public int getItemCount() {
-        return data.size();
+        return data.getCurrentList().size();
     }
 
     public void setOnItemClickListener(Consumer<T> onItemClick) {
         this.onItemClick = onItemClick;
     }
 
+    /**
+     * Shows the updated data. Only the posters that were added, removed,
+     * moved or renamed are updated.
+     */
     public void update(List<T> updatedData) {
-        data.clear();
-        data.addAll(updatedData);
-        notifyDataSetChanged();
+        data.submitList(ModelObjectRow.of(updatedData));
     }
 
     public static class PosterItemDecoration extends RecyclerView.ItemDecoration {
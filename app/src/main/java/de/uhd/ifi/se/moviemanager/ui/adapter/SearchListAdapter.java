@@ -13,16 +13,14 @@ import android.widget.TextView;
 
 import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 
 import org.apache.commons.text.similarity.JaccardDistance;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.function.Consumer;
 import java.util.function.IntConsumer;
 
@@ -30,6 +28,7 @@ import de.uhd.ifi.se.moviemanager.R;
 import de.uhd.ifi.se.moviemanager.model.Identifiable;
 import de.uhd.ifi.se.moviemanager.model.ImageBased;
 import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.NameIndex;
 import de.uhd.ifi.se.moviemanager.model.Nameable;
 import de.uhd.ifi.se.moviemanager.model.Performer;
 
@@ -42,26 +41,49 @@ import de.uhd.ifi.se.moviemanager.model.Performer;
  */
 public class SearchListAdapter<T extends Identifiable & Nameable & ImageBased & Parcelable>
         extends RecyclerView.Adapter<ViewHolder> {
+    // @decision We limit search results to maximal 5 by default!
+    public static final int DEFAULT_MAX_RESULTS = 5;
 
     private final Context context;
     @LayoutRes
     private final int itemLayout;
     private final LayoutInflater layoutInflater;
-    private final Set<T> originalData;
-    private List<T> filteredData;
+    // @decision Only objects that share bigrams with the search term are
+    // scored, the index provides them without looking at the other names.
+    private final NameIndex<T> nameIndex;
+    private final JaccardDistance jaccardDistance = new JaccardDistance();
+    // @decision The best results are kept in a heap of the result size
+    // instead of sorting all scored objects, equal distances do not
+    // replace each other.
+    private final TopKRanking<T> ranking;
+    // @decision The differ compares the new results to the shown results on
+    // a background thread and only updates the changed rows.
+    private final AsyncListDiffer<ModelObjectRow<T>> filteredData =
+            new AsyncListDiffer<>(this, ModelObjectRow.diffCallback());
     private Consumer<T> onItemClick;
     private IntConsumer onSizeChangeListener;
 
-    public SearchListAdapter(@NonNull Context context, Set<T> originalData) {
-        this(context, originalData, true);
+    public SearchListAdapter(@NonNull Context context, Set<T> originalData,
+                             NameIndex<T> nameIndex) {
+        this(context, originalData, nameIndex, true, DEFAULT_MAX_RESULTS);
     }
 
+    /**
+     * @param originalData shown before the first search.
+     * @param nameIndex    index of the names of all objects that can be
+     *                     found, e.g. {@link NameIndex#getMovieIndex()}.
+     * @param maxResults   maximal number of shown results of a search, e.g.
+     *                     {@link #DEFAULT_MAX_RESULTS}.
+     */
     public SearchListAdapter(@NonNull Context context, Set<T> originalData,
-                             boolean useSmall) {
+                             NameIndex<T> nameIndex, boolean useSmall,
+                             int maxResults) {
         this.context = context;
-        this.originalData = originalData;
+        this.nameIndex = nameIndex;
+        ranking = new TopKRanking<>(maxResults);
         layoutInflater = LayoutInflater.from(context);
-        filteredData = new ArrayList<>(originalData);
+        filteredData.submitList(
+                ModelObjectRow.of(new ArrayList<>(originalData)));
 
         if (useSmall) {
             itemLayout = R.layout.listitem_model_object_with_image_detail_small;
@@ -70,40 +92,17 @@ public class SearchListAdapter<T extends Identifiable & Nameable & ImageBased &
         }
     }
 
-    private List<T> applyFilter(@NonNull Set<T> originalData,
-                                String constraint) {
+    private List<T> applyFilter(String constraint) {
         if (constraint.isEmpty()) {
             // result list should be empty if user did not provide input
             return new ArrayList<>();
         }
-        Map<Double, T> distanceMap = calculateTextualSimilarity(originalData,
-                constraint);
-        return getFiveTopResults(distanceMap);
-    }
-
-    private Map<Double, T> calculateTextualSimilarity(Set<T> modelObjects,
-                                                      String searchTerm) {
-        // @decision We use a tree map to sort entries by edit distance!
-        Map<Double, T> distanceMap = new TreeMap<>();
-        for (T modelObject : modelObjects) {
-            String name = modelObject.getName();
-            // @decision We use JaccardDistance to assess textual similarity!
-            double editDistance = new JaccardDistance().apply(name, searchTerm);
-            distanceMap.put(editDistance, modelObject);
-        }
-        return distanceMap;
-    }
-
-    private List<T> getFiveTopResults(Map<Double, T> distanceMap) {
-        List<T> searchResult = new ArrayList<>();
-
-        // @decision We limit search results to maximal 5!
-        int limit = Math.min(5, distanceMap.values().size());
-        Iterator<T> iterator = distanceMap.values().iterator();
-        for (int i = 0; i < limit; i++) {
-            searchResult.add(iterator.next());
-        }
-        return searchResult;
+        List<T> candidates = nameIndex.getCandidates(constraint,
+                ranking.getK());
+        // @decision We use JaccardDistance to assess textual similarity!
+        return ranking.rank(candidates,
+                modelObject -> jaccardDistance.apply(modelObject.getName(),
+                        constraint));
     }
 
     @NonNull
@@ -114,7 +113,10 @@ public class SearchListAdapter<T extends Identifiable & Nameable & ImageBased &
         view.setOnClickListener(v -> {
             ViewHolder holder = (ViewHolder) v.getTag();
             int pos = holder.getBindingAdapterPosition();
-            T elem = filteredData.get(pos);
+            if (pos == RecyclerView.NO_POSITION) {
+                return;
+            }
+            T elem = filteredData.getCurrentList().get(pos).getModelObject();
             onItemClick.accept(elem);
         });
         ViewHolder holder = new ViewHolder(view) {
@@ -128,7 +130,8 @@ public class SearchListAdapter<T extends Identifiable & Nameable & ImageBased &
         if (position >= getItemCount()) {
             return;
         }
-        T element = filteredData.get(position);
+        T element = filteredData.getCurrentList().get(position)
+                .getModelObject();
         ImageView showImage = viewHolder.itemView.findViewById(R.id.show_image);
         TextView showTitle = viewHolder.itemView
                 .findViewById(R.id.dialog_title);
@@ -139,15 +142,15 @@ public class SearchListAdapter<T extends Identifiable & Nameable & ImageBased &
 
     @Override
     public int getItemCount() {
-        return filteredData.size();
+        return filteredData.getCurrentList().size();
     }
 
     public void filter(CharSequence filterText) {
-        filteredData = applyFilter(originalData, filterText.toString());
+        List<T> results = applyFilter(filterText.toString());
         if (onSizeChangeListener != null) {
-            onSizeChangeListener.accept(filteredData.size());
+            onSizeChangeListener.accept(results.size());
         }
-        notifyDataSetChanged();
+        filteredData.submitList(ModelObjectRow.of(results));
     }
 
     public void setOnItemClickListener(Consumer<T> onItemClick) {
@@ -0,0 +1,179 @@
+package de.uhd.ifi.se.moviemanager.ui.adapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+import de.uhd.ifi.se.moviemanager.model.Identifiable;
+
+/**
+ * Finds the k objects with the smallest distances, e.g. the {@link
+ * de.uhd.ifi.se.moviemanager.model.Movie}s whose names are most similar to a
+ * search term. Objects with equal distances are ordered by their ids, so that
+ * none of them is lost and the result does not depend on the order of the
+ * objects.
+ *
+ * @param <T> e.g. {@link de.uhd.ifi.se.moviemanager.model.Movie}.
+ */
+final class TopKRanking<T extends Identifiable> {
+    // @decision Below this size, scoring in parallel costs more than it saves.
+    static final int PARALLEL_THRESHOLD = 1 << 12;
+    private static final int CHUNK_SIZE = 1 << 10;
+
+    private final int k;
+
+    /**
+     * @param k maximal number of ranked objects.
+     */
+    TopKRanking(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.k = k;
+    }
+
+    int getK() {
+        return k;
+    }
+
+    /**
+     * @param objects  e.g. candidates of a search.
+     * @param distance e.g. the Jaccard distance of a name to the search term,
+     *                 must be thread-safe.
+     * @return at most k objects by ascending distance and id.
+     */
+    List<T> rank(List<T> objects, ToDoubleFunction<? super T> distance) {
+        Heap<T> best;
+        if (objects.size() < PARALLEL_THRESHOLD) {
+            best = rank(objects, 0, objects.size(), distance);
+        } else {
+            int chunks = (objects.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            // every chunk has its own heap, the heaps are merged afterwards
+            best = IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> rank(objects, chunk * CHUNK_SIZE,
+                            Math.min(objects.size(), (chunk + 1) * CHUNK_SIZE),
+                            distance))
+                    .reduce(Heap::merge).orElseGet(() -> new Heap<>(k));
+        }
+        return best.toSortedList();
+    }
+
+    private Heap<T> rank(List<T> objects, int from, int to,
+                         ToDoubleFunction<? super T> distance) {
+        Heap<T> heap = new Heap<>(k);
+        for (int i = from; i < to; i++) {
+            T object = objects.get(i);
+            heap.offer(distance.applyAsDouble(object), object);
+        }
+        return heap;
+    }
+
+    /**
+     * Bounded binary heap whose root is the worst of the kept objects, so
+     * that a better object replaces it in logarithmic time.
+     */
+    private static final class Heap<T extends Identifiable> {
+        private final double[] distances;
+        private final int[] ids;
+        private final Object[] objects;
+        private int size;
+
+        Heap(int capacity) {
+            distances = new double[capacity];
+            ids = new int[capacity];
+            objects = new Object[capacity];
+        }
+
+        void offer(double distance, T object) {
+            int id = object.getId();
+            if (size < distances.length) {
+                set(size, distance, id, object);
+                siftUp(size++);
+            } else if (isWorse(distances[0], ids[0], distance, id)) {
+                set(0, distance, id, object);
+                siftDown(0);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        Heap<T> merge(Heap<T> other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.distances[i], (T) other.objects[i]);
+            }
+            return this;
+        }
+
+        /**
+         * @return kept objects by ascending distance and id, the heap is
+         * empty afterwards.
+         */
+        @SuppressWarnings("unchecked")
+        List<T> toSortedList() {
+            Object[] sorted = new Object[size];
+            while (size > 0) {
+                // the root is the worst of the remaining objects
+                sorted[size - 1] = objects[0];
+                size--;
+                set(0, distances[size], ids[size], objects[size]);
+                objects[size] = null;
+                siftDown(0);
+            }
+            List<T> result = new ArrayList<>(sorted.length);
+            for (Object object : sorted) {
+                result.add((T) object);
+            }
+            return result;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!isWorse(distances[index], ids[index], distances[parent],
+                        ids[parent])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int worst = index;
+                for (int child = 2 * index + 1;
+                     child <= 2 * index + 2 && child < size; child++) {
+                    if (isWorse(distances[child], ids[child], distances[worst],
+                            ids[worst])) {
+                        worst = child;
+                    }
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private static boolean isWorse(double distance, int id,
+                                       double otherDistance, int otherId) {
+            int order = Double.compare(distance, otherDistance);
+            return order > 0 || order == 0 && id > otherId;
+        }
+
+        private void set(int index, double distance, int id, Object object) {
+            distances[index] = distance;
+            ids[index] = id;
+            objects[index] = object;
+        }
+
+        private void swap(int first, int second) {
+            double distance = distances[first];
+            int id = ids[first];
+            Object object = objects[first];
+            set(first, distances[second], ids[second], objects[second]);
+            set(second, distance, id, object);
+        }
+    }
+}
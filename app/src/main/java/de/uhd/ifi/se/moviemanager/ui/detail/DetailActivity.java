@@ -18,8 +18,10 @@ import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.elevation.SurfaceColors;
 
 import java.util.Locale;
+import java.util.Optional;
 
 import de.uhd.ifi.se.moviemanager.R;
+import de.uhd.ifi.se.moviemanager.model.Identifiable;
 import de.uhd.ifi.se.moviemanager.model.ImagePyramid;
 import de.uhd.ifi.se.moviemanager.model.ModelObjectWithImage;
 import de.uhd.ifi.se.moviemanager.model.Movie;
@@ -37,7 +39,9 @@ import de.uhd.ifi.se.moviemanager.util.ActivityUtils;
  */
 public abstract class DetailActivity<T extends ModelObjectWithImage>
         extends AppCompatActivity {
+    // id of the current object in the intents
     public static final String CURRENT_OBJECT = "initial_object";
+    private static final int NO_OBJECT = -1;
     protected static final MovieManagerModel model = MovieManagerModel
             .getInstance();
     private final int layoutId;
@@ -79,7 +83,8 @@ public abstract class DetailActivity<T extends ModelObjectWithImage>
         ActivityUtils.setStatusBarColor(this);
         StorageManagerAccess.getInstance().openMovieManagerStorage(this);
 
-        currentObject = getIntent().getParcelableExtra(CURRENT_OBJECT);
+        currentObject = getFromModel(getCurrentObjectId(getIntent()))
+                .orElse(null);
         if (currentObject == null) {
             finish();
             return;
@@ -95,6 +100,35 @@ public abstract class DetailActivity<T extends ModelObjectWithImage>
         updateUIWithModelData();
     }
 
+    /**
+     * Passes an object to another activity by its id. The receiving activity
+     * looks the object up in the {@link MovieManagerModel}, so that the object
+     * is not copied into the intent.
+     *
+     * @param intent that starts the activity or returns its result.
+     * @param object {@link Movie} or {@link Performer} of the model, null if
+     *               a new object is created.
+     */
+    public static void putCurrentObject(Intent intent,
+                                        @Nullable Identifiable object) {
+        intent.putExtra(CURRENT_OBJECT,
+                object == null ? NO_OBJECT : object.getId());
+    }
+
+    /**
+     * @return id of the object that was passed with {@link
+     * #putCurrentObject(Intent, Identifiable)}, -1 if there is none.
+     */
+    public static int getCurrentObjectId(Intent intent) {
+        return intent.getIntExtra(CURRENT_OBJECT, NO_OBJECT);
+    }
+
+    /**
+     * @return {@link Movie} or {@link Performer} with the id from the {@link
+     * MovieManagerModel}, empty if it does not exist.
+     */
+    protected abstract Optional<T> getFromModel(int id);
+
     /**
      * Binds the views
      */
@@ -113,7 +147,7 @@ public abstract class DetailActivity<T extends ModelObjectWithImage>
         toolbar.setNavigationOnClickListener(v -> onBackPressed());
         toolbar.setOnMenuItemClickListener(item -> {
             Intent intent = new Intent(this, editActivity);
-            intent.putExtra(CURRENT_OBJECT, currentObject);
+            putCurrentObject(intent, currentObject);
             updateAfterEditLauncher.launch(intent);
             return true;
         });
@@ -153,7 +187,7 @@ public abstract class DetailActivity<T extends ModelObjectWithImage>
     @Override
     public void onBackPressed() {
         Intent intent = new Intent();
-        intent.putExtra(CURRENT_OBJECT, currentObject);
+        putCurrentObject(intent, currentObject);
         setResult(updated ? RESULT_OK : RESULT_CANCELED, intent);
         super.onBackPressed();
     }
@@ -3,7 +3,8 @@ package de.uhd.ifi.se.moviemanager.ui.detail;
 import static android.provider.MediaStore.Images.Media.EXTERNAL_CONTENT_URI;
 import static java.util.Optional.ofNullable;
 import static de.uhd.ifi.se.moviemanager.model.ImagePyramid.ImageSize.LARGE;
-import static de.uhd.ifi.se.moviemanager.ui.detail.DetailActivity.CURRENT_OBJECT;
+import static de.uhd.ifi.se.moviemanager.ui.detail.DetailActivity.getCurrentObjectId;
+import static de.uhd.ifi.se.moviemanager.ui.detail.DetailActivity.putCurrentObject;
 import static de.uhd.ifi.se.moviemanager.util.Listeners.createOnTextChangedListener;
 
 import android.app.Activity;
@@ -128,12 +129,9 @@ public abstract class DetailEditActivity<T extends ModelObjectWithImage>
      * Movie} or {@link Performer} data class if an existing object is updated.
      */
     private T getCurrentObjectFromIntent() {
-        Intent intent = getIntent();
-        // the object passed in the intent is null if this view is invoked
-        // from a master view
-        ModelObjectWithImage objectInIntent = intent
-                .getParcelableExtra(CURRENT_OBJECT);
-        return getObject(objectInIntent == null ? -1 : objectInIntent.getId());
+        // the intent contains no object if this view is invoked from a master
+        // view to create a new object
+        return getObject(getCurrentObjectId(getIntent()));
     }
 
     /**
@@ -304,7 +302,7 @@ public abstract class DetailEditActivity<T extends ModelObjectWithImage>
         onSave();
 
         Intent intent = new Intent();
-        intent.putExtra(CURRENT_OBJECT, currentObject);
+        putCurrentObject(intent, currentObject);
         setResult(Activity.RESULT_OK, intent);
 
         finish();
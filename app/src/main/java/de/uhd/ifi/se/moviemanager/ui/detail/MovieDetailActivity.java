@@ -75,7 +75,7 @@ public class MovieDetailActivity extends DetailActivity<Movie> {
                 R.layout.medium_poster);
         linkedPerformersAdapter.setOnItemClickListener(perf -> {
             Intent intent = new Intent(this, PerformerDetailActivity.class);
-            intent.putExtra(CURRENT_OBJECT, perf);
+            putCurrentObject(intent, perf);
             updateAfterLinkedDetailsLauncher.launch(intent);
         });
         linkedPerformersList.addItemDecoration(
@@ -84,6 +84,11 @@ public class MovieDetailActivity extends DetailActivity<Movie> {
         linkedPerformersList.setAdapter(linkedPerformersAdapter);
     }
 
+    @Override
+    protected Optional<Movie> getFromModel(int id) {
+        return model.getMovieById(id);
+    }
+
     @Override
     protected void updateAfterLinkedDetails(Intent result) {
         Optional<Movie> currentModelOpt = model
@@ -98,11 +103,11 @@ public class MovieDetailActivity extends DetailActivity<Movie> {
 
     @Override
     protected boolean updateAfterEdit(Intent intent) {
-        Movie movie = intent.getParcelableExtra(CURRENT_OBJECT);
-        if (movie == null) {
+        Optional<Movie> movie = getFromModel(getCurrentObjectId(intent));
+        if (movie.isEmpty()) {
             return false;
         }
-        currentObject = movie;
+        currentObject = movie.get();
         setUpdated(true);
         updateUIWithModelData();
         return true;
@@ -23,6 +23,7 @@ import de.uhd.ifi.se.moviemanager.R;
 import de.uhd.ifi.se.moviemanager.model.Movie;
 import de.uhd.ifi.se.moviemanager.model.MovieRelease;
 import de.uhd.ifi.se.moviemanager.model.Performer;
+import de.uhd.ifi.se.moviemanager.storage.StorageTransaction;
 import de.uhd.ifi.se.moviemanager.ui.dialog.DateSelectionDialog;
 import de.uhd.ifi.se.moviemanager.ui.dialog.PerformerSafeRemovalDialog;
 import de.uhd.ifi.se.moviemanager.util.DateUtils;
@@ -45,6 +46,8 @@ public class MovieDetailEditActivity extends DetailEditActivity<Movie> {
 
     private final ArrayList<MovieRelease> movieReleases = new ArrayList<>();
     private ArrayList<Performer> linkedPerformers = new ArrayList<>();
+    // deletions of performers that are committed together with the movie
+    private StorageTransaction transaction;
 
     public MovieDetailEditActivity() {
         super(R.layout.activity_movie_detail_edit);
@@ -350,7 +353,8 @@ public class MovieDetailEditActivity extends DetailEditActivity<Movie> {
     @Override
     protected void showCommitWarnings() {
         PerformerSafeRemovalDialog.show(this, getInvalidPerformers(), li -> {
-            getInvalidPerformers().forEach(storage::deletePerformerFile);
+            transaction = storage.beginTransaction();
+            getInvalidPerformers().forEach(transaction::deletePerformer);
             saveAndFinish();
         }, () -> {
         });
@@ -369,9 +373,16 @@ public class MovieDetailEditActivity extends DetailEditActivity<Movie> {
         currentObject.setReleases(movieReleases);
 
         updateLinkedElements();
-        model.addMovie(currentObject);
-        currentObject.calculateOverallRating();
-        storage.saveMovieToFile(currentObject);
+        if (!model.addMovie(currentObject)) {
+            model.notifyUpdated(currentObject);
+        }
+        if (transaction == null) {
+            storage.saveMovieAsync(currentObject);
+            return;
+        }
+        transaction.saveMovie(currentObject);
+        storage.commitAsync(transaction);
+        transaction = null;
     }
 
     /**
@@ -73,7 +73,7 @@ public class PerformerDetailActivity extends DetailActivity<Performer> {
                 R.layout.medium_poster);
         linkedMoviesAdapter.setOnItemClickListener(movie -> {
             Intent intent = new Intent(this, MovieDetailActivity.class);
-            intent.putExtra(CURRENT_OBJECT, movie);
+            putCurrentObject(intent, movie);
             updateAfterLinkedDetailsLauncher.launch(intent);
         });
         linkedMoviesList.addItemDecoration(new PosterAdapter
@@ -81,6 +81,11 @@ public class PerformerDetailActivity extends DetailActivity<Performer> {
         linkedMoviesList.setAdapter(linkedMoviesAdapter);
     }
 
+    @Override
+    protected Optional<Performer> getFromModel(int id) {
+        return model.getPerformerById(id);
+    }
+
     @Override
     protected void updateAfterLinkedDetails(Intent result) {
         Optional<Performer> currentModelOpt = model
@@ -154,11 +159,11 @@ public class PerformerDetailActivity extends DetailActivity<Performer> {
 
     @Override
     protected boolean updateAfterEdit(Intent intent) {
-        Performer performer = intent.getParcelableExtra(CURRENT_OBJECT);
-        if (performer == null) {
+        Optional<Performer> performer = getFromModel(getCurrentObjectId(intent));
+        if (performer.isEmpty()) {
             return false;
         }
-        currentObject = performer;
+        currentObject = performer.get();
         setUpdated(true);
         updateUIWithModelData();
         return true;
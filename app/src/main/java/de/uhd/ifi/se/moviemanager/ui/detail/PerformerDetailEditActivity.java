@@ -223,7 +223,9 @@ public class PerformerDetailEditActivity extends DetailEditActivity<Performer> {
                         .map(String::trim).filter(s -> !s.isEmpty()).collect(toList()));
 
 
-        model.addPerformer(currentObject);
+        if (!model.addPerformer(currentObject)) {
+            model.notifyUpdated(currentObject);
+        }
 
         var addedMovies = linkedMovies.stream()
                 .filter(performer -> !currentObject.getMovies().contains(performer));
@@ -233,6 +235,6 @@ public class PerformerDetailEditActivity extends DetailEditActivity<Performer> {
 
         addedMovies.forEach(currentObject::link);
         removedMovies.forEach(currentObject::unlink);
-        storage.savePerformerToFile(currentObject);
+        storage.savePerformerAsync(currentObject);
     }
 }
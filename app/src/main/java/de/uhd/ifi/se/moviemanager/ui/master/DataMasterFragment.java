@@ -4,7 +4,6 @@ import static de.uhd.ifi.se.moviemanager.util.RecyclerViewUtils.setLinearLayoutT
 
 import android.app.Activity;
 import android.content.Context;
-import android.content.Intent;
 import android.os.Bundle;
 import android.os.Parcelable;
 import android.view.LayoutInflater;
@@ -15,8 +14,6 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ListPopupWindow;
 
-import androidx.activity.result.ActivityResultLauncher;
-import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
@@ -27,13 +24,18 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import de.uhd.ifi.se.moviemanager.MovieManagerActivity;
 import de.uhd.ifi.se.moviemanager.R;
 import de.uhd.ifi.se.moviemanager.model.Identifiable;
 import de.uhd.ifi.se.moviemanager.model.ImageBased;
+import de.uhd.ifi.se.moviemanager.model.ModelChangeEvent;
+import de.uhd.ifi.se.moviemanager.model.ModelChangeListener;
 import de.uhd.ifi.se.moviemanager.model.Movie;
 import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
 import de.uhd.ifi.se.moviemanager.model.Nameable;
@@ -55,7 +57,6 @@ public abstract class DataMasterFragment<T extends Identifiable & Nameable & Ima
         extends Fragment {
 
     public static String ARGUMENT_NAME_ID = "nameId";
-    public static String ARGUMENT_ORIGINAL_DATA = "originalData";
 
     protected final StorageManagerAccess storage = StorageManagerAccess.getInstance();
     protected final MovieManagerModel model = MovieManagerModel.getInstance();
@@ -64,13 +65,36 @@ public abstract class DataMasterFragment<T extends Identifiable & Nameable & Ima
     protected int nameId;
     private RecyclerView list;
     protected DataRVAdapter<T> adapter;
+    // changes of the model that are not shown yet, guarded by itself
+    private final ModelChanges pendingChanges = new ModelChanges();
+    private final Runnable applyPendingChanges = this::applyModelChanges;
+    // @decision Changes are applied on the UI thread after the change that
+    // caused them is completed, because the model may be changed by the
+    // storage threads. The changes are collected until the posted update
+    // runs, so that e.g. linking several performers refreshes the list once.
+    private final ModelChangeListener modelChangeListener = event -> {
+        RecyclerView shownList = list;
+        if (shownList == null) {
+            return;
+        }
+        boolean post;
+        synchronized (pendingChanges) {
+            // the update is posted once, by the first change that affects
+            // the list
+            boolean posted = !pendingChanges.isEmpty();
+            pendingChanges.add(event, getModelClass());
+            post = !posted && !pendingChanges.isEmpty();
+        }
+        if (post) {
+            shownList.post(applyPendingChanges);
+        }
+    };
 
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         if (getArguments() != null) {
             nameId = getArguments().getInt(ARGUMENT_NAME_ID);
-            originalData = getArguments().getParcelableArrayList(ARGUMENT_ORIGINAL_DATA);
         }
     }
 
@@ -86,7 +110,7 @@ public abstract class DataMasterFragment<T extends Identifiable & Nameable & Ima
 
             @Override
             public boolean onQueryTextChange(String newText) {
-                adapter.sortAndFilter(newText);
+                adapter.sortAndFilterDelayed(newText);
                 return true;
             }
         });
@@ -119,6 +143,19 @@ public abstract class DataMasterFragment<T extends Identifiable & Nameable & Ima
         list = view.findViewById(R.id.model_objects_with_image);
         FloatingActionButton addButton = view.findViewById(R.id.add_button);
 
+        synchronized (pendingChanges) {
+            pendingChanges.clear();
+        }
+        // registered before the data objects are read, so that no change is
+        // missed
+        model.addChangeListener(modelChangeListener);
+        // @decision The data objects are read from the shared model instead
+        // of the arguments, so that they are neither copied on every tab
+        // switch nor limited by the size of a transaction. They are read
+        // whenever the view is created, because the model is not followed
+        // while the fragment is on the back stack.
+        originalData = new ArrayList<>(getAllFromModel());
+
         sortingMenuItems = new ArrayList<>();
         addSortingMenuItems();
         setupRecyclerView();
@@ -126,6 +163,13 @@ public abstract class DataMasterFragment<T extends Identifiable & Nameable & Ima
         addButton.setOnClickListener(v -> adapter.createObject());
     }
 
+    @Override
+    public void onDestroyView() {
+        model.removeChangeListener(modelChangeListener);
+        list.removeCallbacks(applyPendingChanges);
+        super.onDestroyView();
+    }
+
     @Override
     public void onResume() {
         super.onResume();
@@ -213,44 +257,54 @@ public abstract class DataMasterFragment<T extends Identifiable & Nameable & Ima
     protected abstract DataRVAdapter<T> createAdapter();
 
     /**
-     * Called after a model objects was created by the user.
+     * @return class of the shown model objects, e.g. {@link Movie}.
      */
-    protected abstract void afterCreation();
+    protected abstract Class<T> getModelClass();
 
     /**
-     * Called after a model objects was changed by the user and the user
-     * navigates back from the detail to the master view.
+     * @param id of the model object.
+     * @return model object of the shown class with the id.
      */
-    private void afterUpdate() {
-        adapter.sortAndFilter();
-    }
+    protected abstract Optional<T> getFromModel(int id);
 
     /**
-     * Waits for the user to create a model object and then calls {@link
-     * #afterCreation()}.
+     * @return all model objects of the shown class.
      */
-    public final ActivityResultLauncher<Intent> afterCreationLauncher =
-            registerForActivityResult(
-                    new ActivityResultContracts.StartActivityForResult(), result -> {
-                        Intent data = result.getData();
-                        if (data != null) {
-                            afterCreation();
-                        }
-                    });
+    protected abstract Collection<T> getAllFromModel();
 
     /**
-     * Waits for the user to change a model object and then calls {@link
-     * #afterUpdate()}.
+     * Updates only the list entries that are affected by the changes of the
+     * model since the last update, e.g. one row after a movie was edited by
+     * the user.
      */
-    public final ActivityResultLauncher<Intent> afterUpdateLauncher =
-            registerForActivityResult(
-                    new ActivityResultContracts.StartActivityForResult(), result -> {
-                        Intent data = result.getData();
-                        if (result.getResultCode() == Activity.RESULT_OK
-                                && data != null) {
-                            afterUpdate();
-                        }
-                    });
+    private void applyModelChanges() {
+        boolean reset;
+        Set<Integer> changedIds;
+        synchronized (pendingChanges) {
+            reset = pendingChanges.reset;
+            changedIds = new HashSet<>(pendingChanges.changedIds);
+            pendingChanges.clear();
+        }
+        if (adapter == null) {
+            return;
+        }
+        if (reset) {
+            adapter.setModelObjects(getAllFromModel());
+            return;
+        }
+        List<T> changedObjects = new ArrayList<>();
+        Set<Integer> removedIds = new HashSet<>();
+        for (int id : changedIds) {
+            Optional<T> modelObject = getFromModel(id);
+            if (modelObject.isPresent()) {
+                // links change e.g. the overall rating of a movie
+                changedObjects.add(modelObject.get());
+            } else {
+                removedIds.add(id);
+            }
+        }
+        adapter.updateModelObjects(changedObjects, removedIds);
+    }
 
     /**
      * Shows a warning dialog to the user before deleting an object (e.g. {@link
@@ -263,4 +317,34 @@ public abstract class DataMasterFragment<T extends Identifiable & Nameable & Ima
     public DataRVAdapter<T> getAdapter() {
         return adapter;
     }
+
+    /**
+     * Changes of the model that affect the objects of one class, e.g. the
+     * {@link Movie}s.
+     */
+    private static final class ModelChanges {
+        private boolean reset;
+        private final Set<Integer> changedIds = new HashSet<>();
+
+        private void add(ModelChangeEvent event,
+                         Class<? extends Identifiable> modelClass) {
+            if (event.getType() == ModelChangeEvent.Type.RESET) {
+                reset |= event.getObjectClass().equals(modelClass);
+                return;
+            }
+            int id = event.getIdOf(modelClass);
+            if (id >= 0) {
+                changedIds.add(id);
+            }
+        }
+
+        private boolean isEmpty() {
+            return !reset && changedIds.isEmpty();
+        }
+
+        private void clear() {
+            reset = false;
+            changedIds.clear();
+        }
+    }
 }
\ No newline at end of file
@@ -7,11 +7,12 @@ import androidx.annotation.StringRes;
 
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 
-import java.util.ArrayList;
-import java.util.Set;
+import java.util.Collection;
+import java.util.Optional;
 
 import de.uhd.ifi.se.moviemanager.R;
 import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.storage.StorageTransaction;
 import de.uhd.ifi.se.moviemanager.ui.adapter.DataRVAdapter;
 import de.uhd.ifi.se.moviemanager.ui.detail.MovieDetailActivity;
 import de.uhd.ifi.se.moviemanager.ui.detail.MovieDetailEditActivity;
@@ -27,11 +28,10 @@ import de.uhd.ifi.se.moviemanager.ui.view.SortingMenuItem;
  */
 public class MovieMasterFragment extends DataMasterFragment<Movie> {
 
-    public static MovieMasterFragment getInstance(@StringRes int nameId, Set<Movie> movies) {
+    public static MovieMasterFragment getInstance(@StringRes int nameId) {
         MovieMasterFragment fragment = new MovieMasterFragment();
         Bundle bundle = new Bundle();
         bundle.putInt(ARGUMENT_NAME_ID, nameId);
-        bundle.putParcelableArrayList(ARGUMENT_ORIGINAL_DATA, new ArrayList<>(movies));
         fragment.setArguments(bundle);
         return fragment;
     }
@@ -66,27 +66,35 @@ public class MovieMasterFragment extends DataMasterFragment<Movie> {
     }
 
     @Override
-    protected void afterCreation() {
-        originalData.clear();
-        originalData.addAll(model.getMovies());
-        adapter.sortAndFilter();
+    protected Class<Movie> getModelClass() {
+        return Movie.class;
+    }
+
+    @Override
+    protected Optional<Movie> getFromModel(int id) {
+        return model.getMovieById(id);
+    }
+
+    @Override
+    protected Collection<Movie> getAllFromModel() {
+        return model.getMovies();
     }
 
     @Override
     protected void warnAndRemoveFromStorage(Movie movie) {
         PerformerSafeRemovalDialog
                 .showIfNecessary(getActivity(), movie.getPerformers(), performersToDelete -> {
-                    performersToDelete.forEach(storage::deletePerformerFile);
-                    storage.deleteMovieFile(movie);
-                    adapter.removeModelObject(movie);
+                    StorageTransaction transaction = storage.beginTransaction();
+                    performersToDelete.forEach(transaction::deletePerformer);
+                    transaction.deleteMovie(movie);
+                    storage.commitAsync(transaction);
                 }, () -> {
                 }, () -> new MaterialAlertDialogBuilder(getContext())
                         .setTitle("Warning")
                         .setMessage(getString(R.string.deletion_warning_message,
                                 movie.getName()))
                         .setPositiveButton(R.string.yes, (dialog, which) -> {
-                            storage.deleteMovieFile(movie);
-                            adapter.removeModelObject(movie);
+                            storage.deleteMovieAsync(movie);
                             dialog.dismiss();
                         })
                         .setNegativeButton(R.string.no, (dialog, which) -> dialog.dismiss())
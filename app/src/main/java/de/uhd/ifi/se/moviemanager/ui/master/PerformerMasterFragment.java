@@ -2,13 +2,12 @@ package de.uhd.ifi.se.moviemanager.ui.master;
 
 import android.os.Bundle;
 
-import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
 
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 
-import java.util.ArrayList;
-import java.util.Set;
+import java.util.Collection;
+import java.util.Optional;
 
 import de.uhd.ifi.se.moviemanager.R;
 import de.uhd.ifi.se.moviemanager.model.Movie;
@@ -26,11 +25,10 @@ import de.uhd.ifi.se.moviemanager.ui.view.SortingMenuItem;
  */
 public class PerformerMasterFragment extends DataMasterFragment<Performer> {
 
-    public static PerformerMasterFragment getInstance(@StringRes int nameId, Set<Performer> movies) {
+    public static PerformerMasterFragment getInstance(@StringRes int nameId) {
         PerformerMasterFragment fragment = new PerformerMasterFragment();
         Bundle bundle = new Bundle();
         bundle.putInt(ARGUMENT_NAME_ID, nameId);
-        bundle.putParcelableArrayList(ARGUMENT_ORIGINAL_DATA, new ArrayList<>(movies));
         fragment.setArguments(bundle);
         return fragment;
     }
@@ -49,13 +47,6 @@ public class PerformerMasterFragment extends DataMasterFragment<Performer> {
         sortingMenuItems.add(new SortingMenuItem<>(age, new AgeComparator()));
     }
 
-    @Override
-    public void onCreate(@Nullable Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        if (getArguments() != null)
-            originalData = getArguments().getParcelableArrayList(ARGUMENT_ORIGINAL_DATA);
-    }
-
     @Override
     protected DataRVAdapter<Performer> createAdapter() {
         final String constraint = "";
@@ -68,10 +59,18 @@ public class PerformerMasterFragment extends DataMasterFragment<Performer> {
     }
 
     @Override
-    protected void afterCreation() {
-        originalData.clear();
-        originalData.addAll(model.getPerformers());
-        adapter.sortAndFilter();
+    protected Class<Performer> getModelClass() {
+        return Performer.class;
+    }
+
+    @Override
+    protected Optional<Performer> getFromModel(int id) {
+        return model.getPerformerById(id);
+    }
+
+    @Override
+    protected Collection<Performer> getAllFromModel() {
+        return model.getPerformers();
     }
 
     @Override
@@ -80,8 +79,7 @@ public class PerformerMasterFragment extends DataMasterFragment<Performer> {
                 .setTitle("Warning")
                 .setMessage(getString(R.string.deletion_warning_message, performer.getName()))
                 .setPositiveButton(R.string.yes, (dialog, which) -> {
-                    storage.deletePerformerFile(performer);
-                    adapter.removeModelObject(performer);
+                    storage.deletePerformerAsync(performer);
                     dialog.dismiss();
                 }).setNegativeButton(R.string.no, (dialog, which) -> dialog.dismiss())
                 .show();
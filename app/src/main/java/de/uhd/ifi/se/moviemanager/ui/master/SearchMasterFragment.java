@@ -1,6 +1,6 @@
 package de.uhd.ifi.se.moviemanager.ui.master;
 
-import static de.uhd.ifi.se.moviemanager.ui.detail.DetailActivity.CURRENT_OBJECT;
+import static de.uhd.ifi.se.moviemanager.ui.detail.DetailActivity.putCurrentObject;
 import static de.uhd.ifi.se.moviemanager.ui.search.DataSearchActivity.openMovieSearch;
 import static de.uhd.ifi.se.moviemanager.ui.search.DataSearchActivity.openPerformerSearch;
 
@@ -29,6 +29,7 @@ import de.uhd.ifi.se.moviemanager.model.Identifiable;
 import de.uhd.ifi.se.moviemanager.model.ImageBased;
 import de.uhd.ifi.se.moviemanager.model.Movie;
 import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
+import de.uhd.ifi.se.moviemanager.model.NameIndex;
 import de.uhd.ifi.se.moviemanager.model.Nameable;
 import de.uhd.ifi.se.moviemanager.model.Performer;
 import de.uhd.ifi.se.moviemanager.storage.StorageManagerAccess;
@@ -130,15 +131,18 @@ public class SearchMasterFragment extends Fragment {
     }
 
     private void configureListAdapters() {
-        movieAdapter = createAdapter(model.getMovies(), movieBlock,
-                this::showMovieFrom);
-        performerAdapter = createAdapter(model.getPerformers(), performerBlock,
+        movieAdapter = createAdapter(model.getMovies(),
+                NameIndex.getMovieIndex(), movieBlock, this::showMovieFrom);
+        performerAdapter = createAdapter(model.getPerformers(),
+                NameIndex.getPerformerIndex(), performerBlock,
                 this::showPerformerFrom);
     }
 
     private <T extends Identifiable & Nameable & ImageBased & Parcelable> SearchListAdapter<T> createAdapter(
-            Set<T> data, SearchResultBlock block, Consumer<T> listClick) {
-        SearchListAdapter<T> result = new SearchListAdapter<>(source, data);
+            Set<T> data, NameIndex<T> nameIndex, SearchResultBlock block,
+            Consumer<T> listClick) {
+        SearchListAdapter<T> result = new SearchListAdapter<>(source, data,
+                nameIndex);
         result.setOnSizeChangeListener(showBlockIfNonEmpty(block));
         result.setOnItemClickListener(listClick);
         block.setAdapter(result);
@@ -158,14 +162,14 @@ public class SearchMasterFragment extends Fragment {
 
     private void showMovieFrom(@NonNull Movie elem) {
         Intent intent = new Intent(getActivity(), MovieDetailActivity.class);
-        intent.putExtra(CURRENT_OBJECT, elem);
+        putCurrentObject(intent, elem);
         startActivity(intent);
     }
 
     private void showPerformerFrom(@NonNull Performer elem) {
         Intent intent = new Intent(getActivity(),
                 PerformerDetailActivity.class);
-        intent.putExtra(CURRENT_OBJECT, elem);
+        putCurrentObject(intent, elem);
         startActivity(intent);
     }
 
@@ -1,5 +1,7 @@
 package de.uhd.ifi.se.moviemanager.ui.master.comparator;
 
+import java.util.function.ToDoubleFunction;
+
 import de.uhd.ifi.se.moviemanager.model.Performer;
 import de.uhd.ifi.se.moviemanager.util.DateUtils;
 
@@ -16,6 +18,12 @@ public class AgeComparator implements CategorizedComparator<Performer> {
         return ((Integer) performer1.getAge()).compareTo(performer2.getAge());
     }
 
+    @Override
+    public ToDoubleFunction<Performer> getNumericKey() {
+        // the age is computed from calendars
+        return Performer::getAge;
+    }
+
     @Override
     public String getCategoryNameFor(Performer performer) {
         int category = 10 * (performer.getAge() / 10);
@@ -1,6 +1,8 @@
 package de.uhd.ifi.se.moviemanager.ui.master.comparator;
 
 import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 import de.uhd.ifi.se.moviemanager.model.Movie;
 
@@ -28,4 +30,29 @@ public interface CategorizedComparator<T> extends Comparator<T> {
      * @return text that is shown underneath the title/name of the object.
      */
     String getSubText(T object);
+
+    /**
+     * Provides the number that the objects are sorted by, so that the {@link
+     * SortEngine} computes it only once per object. Comparing the numbers
+     * must give the same order as {@link #compare(Object, Object)}.
+     *
+     * @return key extractor, e.g. for the age of a performer, or null if the
+     * objects are not sorted by a number.
+     */
+    default ToDoubleFunction<T> getNumericKey() {
+        return null;
+    }
+
+    /**
+     * Provides the text that the objects are sorted by, so that the {@link
+     * SortEngine} computes it only once per object. Comparing the texts with
+     * {@link String#compareTo(String)} must give the same order as {@link
+     * #compare(Object, Object)}.
+     *
+     * @return key extractor, e.g. for the case folded name, or null if the
+     * objects are not sorted by a text.
+     */
+    default Function<T, String> getTextKey() {
+        return null;
+    }
 }
\ No newline at end of file
@@ -26,12 +26,30 @@ public class NameComparator<T extends Nameable>
     public NameComparator(Function<T, String> getMetaInfo) {
         this.getMetaInfo = getMetaInfo;
     }
-    
+
     @Override
     public int compare(T object1, T object2) {
         return object1.getName().compareToIgnoreCase(object2.getName());
     }
 
+    @Override
+    public Function<T, String> getTextKey() {
+        return object -> foldCase(object.getName());
+    }
+
+    /**
+     * @return text that is ordered by {@link String#compareTo(String)} like
+     * the original text by {@link String#compareToIgnoreCase(String)}.
+     */
+    static String foldCase(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            // the same folding as in compareToIgnoreCase
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
     @Override
     public String getCategoryNameFor(T object) {
         if (object.getName().isEmpty()) {
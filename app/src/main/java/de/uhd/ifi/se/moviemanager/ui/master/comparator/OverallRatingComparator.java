@@ -1,5 +1,7 @@
 package de.uhd.ifi.se.moviemanager.ui.master.comparator;
 
+import java.util.function.ToDoubleFunction;
+
 import de.uhd.ifi.se.moviemanager.model.Movie;
 import de.uhd.ifi.se.moviemanager.model.Rateable;
 
@@ -17,6 +19,11 @@ public class OverallRatingComparator implements CategorizedComparator<Movie> {
                 .compareTo(movie2.getOverallRating());
     }
 
+    @Override
+    public ToDoubleFunction<Movie> getNumericKey() {
+        return Movie::getOverallRating;
+    }
+
     @Override
     public String getCategoryNameFor(Movie movie) {
         return Rateable.ratingToText(movie.getOverallRating(), false);
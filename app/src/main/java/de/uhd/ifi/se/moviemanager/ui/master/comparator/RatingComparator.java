@@ -1,5 +1,7 @@
 package de.uhd.ifi.se.moviemanager.ui.master.comparator;
 
+import java.util.function.ToDoubleFunction;
+
 import de.uhd.ifi.se.moviemanager.model.Movie;
 import de.uhd.ifi.se.moviemanager.model.Rateable;
 
@@ -20,6 +22,11 @@ public class RatingComparator<T extends Rateable>
         return ((Double) object1.getRating()).compareTo(object2.getRating());
     }
 
+    @Override
+    public ToDoubleFunction<T> getNumericKey() {
+        return Rateable::getRating;
+    }
+
     @Override
     public String getCategoryNameFor(T object) {
         if (object.getRatingInStars().isEmpty()) {
@@ -0,0 +1,84 @@
+package de.uhd.ifi.se.moviemanager.ui.master.comparator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Sorts objects with a {@link CategorizedComparator}. If the comparator
+ * provides a key, e.g. {@link CategorizedComparator#getNumericKey()}, the key
+ * of every object is extracted once and the keys are sorted instead of
+ * computing them again for every comparison.
+ */
+public final class SortEngine {
+    // @decision Below this size, a parallel sort costs more than it saves.
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private SortEngine() {
+        // utility class
+    }
+
+    /**
+     * Sorts the objects in place. The sort is stable, i.e., objects with equal
+     * keys keep their order, also if sorted in descending order.
+     *
+     * @param objects    e.g. {@link de.uhd.ifi.se.moviemanager.model.Movie}s.
+     * @param comparator sorting criterion.
+     * @param descending true if the order of the comparator is reversed.
+     * @param <T>        e.g. {@link de.uhd.ifi.se.moviemanager.model.Movie}.
+     */
+    public static <T> void sort(List<T> objects,
+                                CategorizedComparator<T> comparator,
+                                boolean descending) {
+        Comparator<Integer> keyOrder = extractKeys(objects, comparator);
+        if (keyOrder == null) {
+            objects.sort(descending ? comparator.reversed() : comparator);
+            return;
+        }
+        if (descending) {
+            keyOrder = keyOrder.reversed();
+        }
+        Integer[] permutation = new Integer[objects.size()];
+        Arrays.setAll(permutation, index -> index);
+        if (permutation.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(permutation, keyOrder);
+        } else {
+            Arrays.sort(permutation, keyOrder);
+        }
+
+        Object[] unsorted = objects.toArray();
+        for (int i = 0; i < permutation.length; i++) {
+            @SuppressWarnings("unchecked")
+            T object = (T) unsorted[permutation[i]];
+            objects.set(i, object);
+        }
+    }
+
+    /**
+     * @return order of the indexes of the objects by their keys, or null if
+     * the comparator provides no key.
+     */
+    private static <T> Comparator<Integer> extractKeys(
+            List<T> objects, CategorizedComparator<T> comparator) {
+        ToDoubleFunction<T> numericKey = comparator.getNumericKey();
+        if (numericKey != null) {
+            double[] keys = new double[objects.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = numericKey.applyAsDouble(objects.get(i));
+            }
+            return (index1, index2) -> Double.compare(keys[index1],
+                    keys[index2]);
+        }
+        Function<T, String> textKey = comparator.getTextKey();
+        if (textKey != null) {
+            String[] keys = new String[objects.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = textKey.apply(objects.get(i));
+            }
+            return (index1, index2) -> keys[index1].compareTo(keys[index2]);
+        }
+        return null;
+    }
+}
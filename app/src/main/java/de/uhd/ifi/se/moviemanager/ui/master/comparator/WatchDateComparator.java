@@ -3,12 +3,14 @@ package de.uhd.ifi.se.moviemanager.ui.master.comparator;
 import static java.lang.Math.abs;
 
 import java.util.Date;
+import java.util.function.ToDoubleFunction;
 
 import de.uhd.ifi.se.moviemanager.model.Movie;
 import de.uhd.ifi.se.moviemanager.util.DateUtils;
 
 /**
- * Compares two {@link Movie}s by their watch date.
+ * Compares two {@link Movie}s by their watch date. Movies that were not
+ * watched are sorted before all watched movies.
  *
  * @see Movie#getWatchDate()
  */
@@ -16,15 +18,20 @@ public class WatchDateComparator implements CategorizedComparator<Movie> {
 
     @Override
     public int compare(Movie movie1, Movie movie2) {
-        if (movie1.getWatchDate() == null) {
-            // movie cannot be compared since watch date is null
-            return -42;
-        }
-        if (movie2.getWatchDate() == null) {
-            // movie cannot be compared since watch date is null
-            return 42;
-        }
-        return movie1.getWatchDate().compareTo(movie2.getWatchDate());
+        return Double.compare(keyOf(movie1), keyOf(movie2));
+    }
+
+    @Override
+    public ToDoubleFunction<Movie> getNumericKey() {
+        return WatchDateComparator::keyOf;
+    }
+
+    private static double keyOf(Movie movie) {
+        Date watchDate = movie.getWatchDate();
+        // @decision Movies without watch date get the lowest key, so that
+        // the order is total and consistent, which the sorting requires.
+        return watchDate == null ? Double.NEGATIVE_INFINITY :
+                watchDate.getTime();
     }
 
     @Override
@@ -25,6 +25,7 @@ import de.uhd.ifi.se.moviemanager.R;
 import de.uhd.ifi.se.moviemanager.model.ModelObjectWithImage;
 import de.uhd.ifi.se.moviemanager.model.Movie;
 import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
+import de.uhd.ifi.se.moviemanager.model.NameIndex;
 import de.uhd.ifi.se.moviemanager.model.Performer;
 import de.uhd.ifi.se.moviemanager.storage.StorageManagerAccess;
 import de.uhd.ifi.se.moviemanager.ui.adapter.SearchListAdapter;
@@ -126,7 +127,8 @@ public abstract class DataSearchActivity<T extends ModelObjectWithImage>
     }
 
     private void configureListAdapter() {
-        adapter = new SearchListAdapter<>(this, getDataObjects(), false);
+        adapter = new SearchListAdapter<>(this, getDataObjects(),
+                getNameIndex(), false, SearchListAdapter.DEFAULT_MAX_RESULTS);
         resultList.addItemDecoration(
                 new SearchListAdapter.SearchListItemDecoration(
                         (int) getResources().getDimension(R.dimen.default_margin)
@@ -136,6 +138,8 @@ public abstract class DataSearchActivity<T extends ModelObjectWithImage>
 
     protected abstract Set<T> getDataObjects();
 
+    protected abstract NameIndex<T> getNameIndex();
+
     private void setListeners() {
         adapter.setOnItemClickListener(this::navigateToDetailsOf);
         searchBar.setOnQueryTextListener(
@@ -1,12 +1,13 @@
 package de.uhd.ifi.se.moviemanager.ui.search;
 
-import static de.uhd.ifi.se.moviemanager.ui.detail.DetailActivity.CURRENT_OBJECT;
+import static de.uhd.ifi.se.moviemanager.ui.detail.DetailActivity.putCurrentObject;
 
 import android.content.Intent;
 
 import java.util.Set;
 
 import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.NameIndex;
 import de.uhd.ifi.se.moviemanager.ui.detail.MovieDetailActivity;
 
 public class MovieSearchActivity extends DataSearchActivity<Movie> {
@@ -20,10 +21,15 @@ public class MovieSearchActivity extends DataSearchActivity<Movie> {
         return model.getMovies();
     }
 
+    @Override
+    protected NameIndex<Movie> getNameIndex() {
+        return NameIndex.getMovieIndex();
+    }
+
     @Override
     protected void navigateToDetailsOf(Movie modelObject) {
         Intent intent = new Intent(this, MovieDetailActivity.class);
-        intent.putExtra(CURRENT_OBJECT, modelObject);
+        putCurrentObject(intent, modelObject);
         startActivity(intent);
     }
 }
@@ -1,11 +1,12 @@
 package de.uhd.ifi.se.moviemanager.ui.search;
 
-import static de.uhd.ifi.se.moviemanager.ui.detail.DetailActivity.CURRENT_OBJECT;
+import static de.uhd.ifi.se.moviemanager.ui.detail.DetailActivity.putCurrentObject;
 
 import android.content.Intent;
 
 import java.util.Set;
 
+import de.uhd.ifi.se.moviemanager.model.NameIndex;
 import de.uhd.ifi.se.moviemanager.model.Performer;
 import de.uhd.ifi.se.moviemanager.ui.detail.PerformerDetailActivity;
 
@@ -21,10 +22,15 @@ public class PerformerSearchActivity extends DataSearchActivity<Performer> {
         return model.getPerformers();
     }
 
+    @Override
+    protected NameIndex<Performer> getNameIndex() {
+        return NameIndex.getPerformerIndex();
+    }
+
     @Override
     protected void navigateToDetailsOf(Performer modelObject) {
         Intent intent = new Intent(this, PerformerDetailActivity.class);
-        intent.putExtra(CURRENT_OBJECT, modelObject);
+        putCurrentObject(intent, modelObject);
         startActivity(intent);
     }
 }
@@ -0,0 +1,147 @@
+package de.uhd.ifi.se.moviemanager.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Links between primitive int ids in one direction, e.g. from the ids of
+ * movies to the ids of their performers. Every node has one sorted int array
+ * of its neighbors, so that a link costs eight bytes or less instead of
+ * several objects, and neighbors are iterated without allocations.
+ * <p>
+ * Links of both directions are kept in two instances, see {@link
+ * de.uhd.ifi.se.moviemanager.model.MovieManagerModel}.
+ */
+public final class IntAdjacency {
+    private static final int MIN_ROW_CAPACITY = 4;
+
+    // @decision The first element of a row is the number of neighbors, the
+    // neighbors follow in ascending order. The spare capacity at the end of
+    // the row buffers new links, so that only every doubling copies the row.
+    private final IntObjectMap<int[]> rows = new IntObjectMap<>();
+    private int size;
+
+    /**
+     * Functional interface that receives the links, see {@link
+     * #forEachLink(LinkConsumer)}.
+     */
+    public interface LinkConsumer {
+        void accept(int node, int neighbor);
+    }
+
+    /**
+     * @return number of links.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return true if the link was not contained before.
+     */
+    public boolean add(int node, int neighbor) {
+        int[] row = rows.get(node);
+        if (row == null) {
+            row = new int[MIN_ROW_CAPACITY];
+            rows.put(node, row);
+        }
+        int count = row[0];
+        int index = Arrays.binarySearch(row, 1, count + 1, neighbor);
+        if (index >= 0) {
+            return false;
+        }
+        int insertion = -index - 1;
+        if (count + 1 == row.length) {
+            row = Arrays.copyOf(row, row.length * 2);
+            rows.put(node, row);
+        }
+        System.arraycopy(row, insertion, row, insertion + 1,
+                count + 1 - insertion);
+        row[insertion] = neighbor;
+        row[0] = count + 1;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return true if the link was contained.
+     */
+    public boolean remove(int node, int neighbor) {
+        int[] row = rows.get(node);
+        if (row == null) {
+            return false;
+        }
+        int count = row[0];
+        int index = Arrays.binarySearch(row, 1, count + 1, neighbor);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(row, index + 1, row, index, count - index);
+        row[0] = count - 1;
+        size--;
+        if (row[0] == 0) {
+            // the node may never get neighbors again, e.g. a removed object,
+            // so empty rows are not kept to free their memory
+            rows.remove(node);
+        }
+        return true;
+    }
+
+    public boolean contains(int node, int neighbor) {
+        int[] row = rows.get(node);
+        return row != null &&
+                Arrays.binarySearch(row, 1, row[0] + 1, neighbor) >= 0;
+    }
+
+    /**
+     * @return number of neighbors of the node.
+     */
+    public int degree(int node) {
+        int[] row = rows.get(node);
+        return row == null ? 0 : row[0];
+    }
+
+    /**
+     * @return copy of the neighbors of the node in ascending order.
+     */
+    public int[] neighbors(int node) {
+        int[] row = rows.get(node);
+        return row == null ? new int[0] : Arrays.copyOfRange(row, 1,
+                row[0] + 1);
+    }
+
+    /**
+     * Performs the action for every neighbor of the node in ascending order.
+     * The links must not be changed by the action.
+     */
+    public void forEachNeighbor(int node, IntConsumer action) {
+        int[] row = rows.get(node);
+        if (row == null) {
+            return;
+        }
+        for (int i = 1; i <= row[0]; i++) {
+            action.accept(row[i]);
+        }
+    }
+
+    /**
+     * Performs the action for every link, in no particular order of the
+     * nodes. The links must not be changed by the action.
+     */
+    public void forEachLink(LinkConsumer action) {
+        rows.forEach((row, node) -> {
+            for (int i = 1; i <= row[0]; i++) {
+                action.accept(node, row[i]);
+            }
+        });
+    }
+
+    public void clear() {
+        rows.clear();
+        size = 0;
+    }
+}
@@ -0,0 +1,174 @@
+package de.uhd.ifi.se.moviemanager.util;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Hash map from primitive int keys to objects. Uses open addressing with linear
+ * probing, so that keys are not boxed and no entry objects are created. Used
+ * to look up data objects by their ids.
+ * <p>
+ * Null values are not allowed, an empty slot is marked by a null value.
+ *
+ * @param <V> class of the values, e.g. {@link
+ *            de.uhd.ifi.se.moviemanager.model.Movie}.
+ */
+public final class IntObjectMap<V> {
+    private static final int MIN_CAPACITY = 16;
+    // the table is enlarged when it is filled to more than three quarters
+    private static final int MAX_LOAD_NUMERATOR = 3;
+    private static final int MAX_LOAD_DENOMINATOR = 4;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    public IntObjectMap() {
+        keys = new int[MIN_CAPACITY];
+        values = new Object[MIN_CAPACITY];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return value of the key or null if the key is not contained.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = indexOf(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * @param key   e.g. the id of a movie.
+     * @param value must not be null.
+     * @return previous value of the key or null if the key was not contained.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not allowed");
+        }
+        int slot = slotOf(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = next(slot);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size * MAX_LOAD_DENOMINATOR > keys.length * MAX_LOAD_NUMERATOR) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * @return removed value or null if the key was not contained.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = indexOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        V removed = (V) values[slot];
+        values[slot] = null;
+        size--;
+        // @decision Following entries are shifted back instead of leaving a
+        // tombstone, so that lookups never probe removed slots.
+        int gap = slot;
+        int current = next(slot);
+        while (values[current] != null) {
+            int home = slotOf(keys[current]);
+            if (isOutside(home, gap, current)) {
+                keys[gap] = keys[current];
+                values[gap] = values[current];
+                values[current] = null;
+                gap = current;
+            }
+            current = next(current);
+        }
+        return removed;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Performs the action for every entry, in no particular order. The map
+     * must not be changed by the action.
+     *
+     * @param action is called with the value and the key of each entry.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjIntConsumer<? super V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept((V) values[i], keys[i]);
+            }
+        }
+    }
+
+    /**
+     * @return true if the home slot does not lie cyclically in (gap, current],
+     * i.e., the entry at current may be moved into the gap.
+     */
+    private static boolean isOutside(int home, int gap, int current) {
+        if (gap <= current) {
+            return home <= gap || home > current;
+        }
+        return home <= gap && home > current;
+    }
+
+    private int indexOf(int key) {
+        int slot = slotOf(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = next(slot);
+        }
+        return -1;
+    }
+
+    private int slotOf(int key) {
+        // spreads consecutive ids over the table
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (keys.length - 1);
+    }
+
+    private int next(int slot) {
+        return (slot + 1) & (keys.length - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                put(oldKeys[i], (V) oldValues[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package de.uhd.ifi.se.moviemanager.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Caches a list that is derived from data with a modification counter, e.g.
+ * the name-sorted performers of a movie, see {@link
+ * de.uhd.ifi.se.moviemanager.model.MovieManagerModel#getLinkVersion()}. The
+ * list is only computed again after the counter changed.
+ *
+ * @param <T> class of the list elements, e.g. {@link
+ *            de.uhd.ifi.se.moviemanager.model.Performer}.
+ */
+public final class VersionedCache<T> {
+    // @decision Version and list are replaced together as one immutable
+    // entry, so that a reader never sees the list of another version.
+    private volatile Entry<T> entry;
+
+    /**
+     * @param version current value of the modification counter.
+     * @param loader  computes the list if the cached list is out of date.
+     * @return unmodifiable list, the same instance as long as the version
+     * does not change.
+     */
+    public List<T> get(int version, Supplier<List<T>> loader) {
+        Entry<T> current = entry;
+        if (current == null || current.version != version) {
+            current = new Entry<>(version,
+                    Collections.unmodifiableList(loader.get()));
+            entry = current;
+        }
+        return current.list;
+    }
+
+    private static final class Entry<T> {
+        private final int version;
+        private final List<T> list;
+
+        private Entry(int version, List<T> list) {
+            this.version = version;
+            this.list = list;
+        }
+    }
+}
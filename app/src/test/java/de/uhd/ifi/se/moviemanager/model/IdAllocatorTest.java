@@ -0,0 +1,46 @@
+package de.uhd.ifi.se.moviemanager.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IdAllocatorTest {
+
+    private final IdAllocator ids = new IdAllocator();
+
+    @Test
+    void testIdsAreAllocatedAboveUsedIds() {
+        assertEquals(0, ids.allocate());
+        ids.markUsed(1);
+        assertEquals(2, ids.allocate());
+
+        ids.markUsed(0);
+        assertEquals(3, ids.allocate());
+    }
+
+    @Test
+    void testHighWaterMark() {
+        assertEquals(0, ids.getHighWaterMark());
+        ids.markUsed(5);
+        assertEquals(6, ids.getHighWaterMark());
+
+        ids.restoreHighWaterMark(10);
+        assertEquals(10, ids.getHighWaterMark());
+        ids.restoreHighWaterMark(2);
+        assertEquals(10, ids.getHighWaterMark());
+    }
+
+    @Test
+    void testConcurrentAllocationsAreDistinct() {
+        Set<Integer> allocated = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 1000).parallel()
+                .forEach(i -> allocated.add(ids.allocate()));
+
+        assertEquals(1000, allocated.size());
+        assertEquals(1000, ids.getHighWaterMark());
+    }
+}
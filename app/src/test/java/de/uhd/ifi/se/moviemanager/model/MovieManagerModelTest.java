@@ -1,12 +1,19 @@
 package de.uhd.ifi.se.moviemanager.model;
 
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -29,4 +36,143 @@ class MovieManagerModelTest {
         assertEquals(0, movie.getId());
         assertEquals(1, secondMovie.getId());
     }
+
+    @Test
+    void testIdsOfRemovedObjectsAreNotReused() {
+        Movie movie = new Movie();
+        model.addMovie(movie);
+        model.removeMovie(movie);
+        model.setMovies(List.of());
+
+        assertEquals(movie.getId() + 1, new Movie().getId());
+    }
+
+    @Test
+    void testLookupById() {
+        Movie movie = new Movie(7);
+        model.addMovie(movie);
+        Performer performer = new Performer(3);
+        model.addPerformer(performer);
+
+        assertEquals(movie, model.getMovieById(7).get());
+        assertEquals(performer, model.getPerformerById(3).get());
+        assertFalse(model.getMovieById(3).isPresent());
+
+        model.removeMovie(movie);
+        assertFalse(model.getMovieById(7).isPresent());
+        model.clear();
+        assertFalse(model.getPerformerById(3).isPresent());
+    }
+
+    @Test
+    void testInverseAssociationsFollowLinks() {
+        Movie movie = new Movie("Movie");
+        model.addMovie(movie);
+        Performer performer = new Performer("Performer");
+        model.addPerformer(performer);
+        movie.link(performer);
+
+        assertTrue(model.isLinked(movie, performer));
+        assertEquals(1, performer.getMovies().size());
+
+        movie.unlink(performer);
+        assertFalse(performer.hasOneOrMoreMoviesLinked());
+
+        Multimap<Movie, Performer> loaded = HashMultimap.create();
+        loaded.put(movie, performer);
+        model.setMoviePerformerAssociations(loaded);
+        assertEquals(movie, performer.getMovies().get(0));
+
+        model.removeMovie(movie);
+        assertFalse(performer.hasOneOrMoreMoviesLinked());
+        assertTrue(model.getMoviePerformerAssociations().isEmpty());
+    }
+
+    @Test
+    void testChangeEvents() {
+        List<String> events = new ArrayList<>();
+        ModelChangeListener listener = event -> events.add(event.toString());
+        model.addChangeListener(listener);
+        try {
+            Movie movie = new Movie(2);
+            model.addMovie(movie);
+            Performer performer = new Performer(5);
+            model.addPerformer(performer);
+            movie.link(performer);
+            model.notifyUpdated(movie);
+            model.removeMovie(movie);
+        } finally {
+            model.removeChangeListener(listener);
+        }
+
+        assertEquals(List.of("ADDED Movie 2 -1", "ADDED Performer 5 -1",
+                "LINKED Movie 2 5", "UPDATED Movie 2 -1", "UNLINKED Movie 2 5",
+                "REMOVED Movie 2 -1"), events);
+    }
+
+    @Test
+    void testRatingChangeUpdatesLinkedMovies() {
+        Movie movie = new Movie(2);
+        model.addMovie(movie);
+        Performer performer = new Performer(5);
+        model.addPerformer(performer);
+        movie.link(performer);
+        List<String> events = new ArrayList<>();
+        ModelChangeListener listener = event -> events.add(event.toString());
+        model.addChangeListener(listener);
+        try {
+            performer.setRating(4);
+        } finally {
+            model.removeChangeListener(listener);
+        }
+
+        assertEquals(List.of("UPDATED Movie 2 -1"), events);
+        assertEquals(4, model.getAveragePerformerRating(movie));
+    }
+
+    @Test
+    void testListenersAreNotifiedWithoutLock() {
+        List<Boolean> locked = new ArrayList<>();
+        ModelChangeListener listener = event -> locked.add(
+                Thread.holdsLock(model));
+        model.addChangeListener(listener);
+        try {
+            Movie movie = new Movie(2);
+            model.addMovie(movie);
+            Performer performer = new Performer(5);
+            model.addPerformer(performer);
+            movie.link(performer);
+            model.removePerformer(performer);
+            model.clear();
+        } finally {
+            model.removeChangeListener(listener);
+        }
+
+        assertEquals(List.of(false, false, false, false, false, false,
+                false), locked);
+    }
+
+    @Test
+    void testStateIsImmutableSnapshot() {
+        Movie movie = new Movie(1);
+        model.addMovie(movie);
+        ModelState state = model.getState();
+        assertSame(state, model.getState());
+
+        model.addMovie(new Movie(3));
+        assertEquals(1, state.getMovies().size());
+        ModelState moviesAdded = model.getState();
+        assertEquals(2, moviesAdded.getMovies().size());
+
+        Performer performer = new Performer(4);
+        model.addPerformer(performer);
+        ModelState performerAdded = model.getState();
+        movie.link(performer);
+        ModelState linked = model.getState();
+        assertSame(performerAdded.getMovies(), linked.getMovies());
+        assertEquals(0, performerAdded.getLinkCount());
+        assertArrayEquals(new int[]{4}, linked.getPerformerIdsOf(1));
+        assertArrayEquals(new int[0], linked.getPerformerIdsOf(3));
+        assertSame(movie, linked.getMovieById(1).orElseThrow());
+    }
 }
@@ -0,0 +1,97 @@
+package de.uhd.ifi.se.moviemanager.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NameIndexTest {
+
+    private final MovieManagerModel model = MovieManagerModel.getInstance();
+    private final NameIndex<Movie> index = NameIndex.getMovieIndex();
+
+    @AfterEach
+    void tearDown() {
+        model.clear();
+    }
+
+    @Test
+    void testCandidatesShareBigrams() {
+        model.addMovie(new Movie("Star Wars"));
+        model.addMovie(new Movie("Starship Troopers"));
+        model.addMovie(new Movie("Alien"));
+
+        assertEquals(Set.of("Star Wars", "Starship Troopers"),
+                namesOf(index.getCandidates("STAR", 1)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testCharactersIfTooFewCandidates() {
+        model.addMovie(new Movie("Star Wars"));
+        model.addMovie(new Movie("Alien"));
+        model.addMovie(new Movie("Up"));
+
+        assertEquals(Set.of("Star Wars"),
+                namesOf(index.getCandidates("wa", 1)));
+        assertEquals(Set.of("Star Wars", "Alien"),
+                namesOf(index.getCandidates("wa", 5)));
+        assertEquals(Set.of("Star Wars", "Alien"),
+                namesOf(index.getCandidates("a", 1)));
+        assertTrue(index.getCandidates("", 5).isEmpty());
+    }
+
+    @Test
+    void testIndexFollowsModelChanges() {
+        Movie movie = new Movie("Alien");
+        model.addMovie(movie);
+        movie.setName("Aliens");
+        model.notifyUpdated(movie);
+        assertEquals(Set.of("Aliens"), namesOf(index.getCandidates("ns", 1)));
+
+        movie.setName("Brazil");
+        model.notifyUpdated(movie);
+        assertTrue(index.getCandidates("ns", 1).isEmpty());
+        assertEquals(Set.of("Brazil"), namesOf(index.getCandidates("zi", 1)));
+
+        model.removeMovie(movie);
+        assertTrue(index.getCandidates("zi", 1).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testModelIsReadableWhileIndexIsLocked() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Thread reset = new Thread(
+                    () -> model.setMovies(List.of(new Movie("Alien"))));
+            synchronized (index) {
+                reset.start();
+                while (reset.getState() != Thread.State.BLOCKED) {
+                    Thread.yield();
+                }
+                // the reset waits for the index, but not with the model lock
+                int size = executor.submit(
+                        () -> model.getState().getMovies().size())
+                        .get(5, TimeUnit.SECONDS);
+                assertEquals(1, size);
+            }
+            reset.join();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(Set.of("Alien"), namesOf(index.getCandidates("li", 1)));
+    }
+
+    private static Set<String> namesOf(List<Movie> movies) {
+        return movies.stream().map(Movie::getName).collect(Collectors.toSet());
+    }
+}
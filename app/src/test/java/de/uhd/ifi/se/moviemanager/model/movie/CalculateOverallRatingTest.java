@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -204,4 +205,48 @@ class CalculateOverallRatingTest {
         // postcondition
         assertTrue(movie.isRated()); // nothing changed, movie is still rated
     }
+
+    @Test
+    @DisplayName("Overall Rating - follows rating changes and unlinks of " + "Performers")
+    void testOverallRatingFollowsPerformerChanges() {
+        // precondition
+        Movie movie = new Movie(0); // movie exists
+        movie.setRating(3);
+        List<Performer> performers = createPerformersWithRating(4, 2);
+        movie.link(performers);
+        assertEquals(3, movie.getOverallRating());
+
+        // test
+        performers.get(1).setRating(5);
+        assertEquals(3.75, movie.getOverallRating());
+        performers.get(0).setRating(-1);
+        assertEquals(4, movie.getOverallRating());
+        movie.unlink(performers.get(1));
+
+        // postcondition
+        assertEquals(3, movie.getOverallRating()); // no rated performer left
+    }
+
+    @Test
+    @DisplayName("Overall Rating - unchanged by loading the details of a "
+            + "Performer")
+    void testOverallRatingIsUnchangedByHydration() {
+        // precondition
+        Movie movie = new Movie(0);
+        movie.setRating(3);
+        model.addMovie(movie);
+        List<Performer> performers = createPerformersWithRating(4, 2);
+        performers.forEach(model::addPerformer);
+        movie.link(performers);
+        assertEquals(3, movie.getOverallRating());
+
+        // test
+        Performer summary = performers.get(0);
+        summary.setHydrator(id -> Optional.of(createRatedPerformer(id, 4)));
+        summary.getBiography();
+
+        // postcondition
+        assertTrue(summary.isHydrated());
+        assertEquals(3, movie.getOverallRating());
+    }
 }
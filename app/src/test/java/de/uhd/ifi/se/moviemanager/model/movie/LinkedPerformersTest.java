@@ -2,11 +2,14 @@ package de.uhd.ifi.se.moviemanager.model.movie;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import de.uhd.ifi.se.moviemanager.model.Movie;
 import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
 import de.uhd.ifi.se.moviemanager.model.Performer;
@@ -106,4 +109,22 @@ class LinkedPerformersTest {
         assertFalse(movie.unlink((Performer) null));
         assertEquals(0, movie.getPerformers().size());
     }
+
+    @Test
+    void testSortedPerformersAreCachedUntilChange() {
+        Movie movie = new Movie(); // movie exists
+        Performer bob = new Performer("Bob");
+        Performer alice = new Performer("Alice");
+        movie.link(bob);
+        movie.link(alice);
+
+        List<Performer> performers = movie.getPerformers();
+        assertEquals(List.of(alice, bob), performers);
+        assertSame(performers, movie.getPerformers()); // not sorted again
+
+        alice.setName("Carol");
+        assertEquals(List.of(bob, alice), movie.getPerformers());
+        movie.unlink(bob);
+        assertEquals(List.of(alice), movie.getPerformers());
+    }
 }
@@ -2,6 +2,7 @@ package de.uhd.ifi.se.moviemanager.model.movie;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -83,4 +84,23 @@ class MovieTest {
 
         assertEquals(productionLocations, movie.getProductionLocations());
     }
+
+    @Test
+    void testDirtyFields() {
+        Movie movie = new Movie(0);
+        assertTrue(movie.isDirty());
+        movie.clearDirtyFields();
+
+        movie.setTitle("");
+        movie.setRating(-1);
+        assertFalse(movie.isDirty());
+
+        movie.setRating(4);
+        movie.setDescription("Changed");
+        assertEquals(Movie.RATING_FIELD | Movie.DESCRIPTION_FIELD,
+                movie.getDirtyFields());
+        assertEquals(Movie.RATING_FIELD | Movie.DESCRIPTION_FIELD,
+                movie.clearDirtyFields());
+        assertFalse(movie.isDirty());
+    }
 }
@@ -0,0 +1,105 @@
+package de.uhd.ifi.se.moviemanager.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
+import de.uhd.ifi.se.moviemanager.model.Performer;
+
+/**
+ * Counts the bytes that are written to the associations file per operation of
+ * the {@link StorageManagerImpl}.
+ */
+class AssociationBytesWrittenTest {
+    private static final Path HOME = Paths.get("TestRuntimeStorage");
+    // two ids per link
+    private static final int BYTES_PER_LINK = 8;
+
+    private StorageManagerImpl storage;
+    private final MovieManagerModel model = MovieManagerModel.getInstance();
+    private Movie movie;
+    private final List<Performer> performers = new ArrayList<>();
+
+    @BeforeEach
+    void init() {
+        storage = (StorageManagerImpl) StorageManagerImpl
+                .getInstance(HOME.toFile());
+        storage.clear();
+        model.clear();
+
+        movie = new Movie("Movie");
+        model.addMovie(movie);
+        for (int i = 0; i < 100; i++) {
+            Performer performer = new Performer("Performer " + i);
+            model.addPerformer(performer);
+            performer.link(movie);
+            performers.add(performer);
+        }
+        storage.saveMovieToFile(movie);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.selfDestruct();
+        model.clear();
+    }
+
+    private long bytesWrittenBy(Runnable operation) {
+        AssociationStorageManager<Movie, Performer> associations = storage
+                .getMoviePerformerAssociationStorageManager();
+        long before = associations.getBytesWritten();
+        operation.run();
+        return associations.getBytesWritten() - before;
+    }
+
+    @Test
+    void testSaveWithoutLinkChangesWritesNothing() {
+        movie.setDescription("Changed description");
+        assertEquals(0, bytesWrittenBy(() -> storage.saveMovieToFile(movie)));
+        assertEquals(0, bytesWrittenBy(
+                () -> storage.savePerformerToFile(performers.get(0))));
+    }
+
+    @Test
+    void testLinkWritesOnePair() {
+        Performer performer = new Performer("New");
+        model.addPerformer(performer);
+        performer.link(movie);
+        assertEquals(BYTES_PER_LINK,
+                bytesWrittenBy(() -> storage.savePerformerToFile(performer)));
+    }
+
+    @Test
+    void testUnlinkWritesOnePair() {
+        movie.unlink(performers.get(0));
+        assertEquals(BYTES_PER_LINK,
+                bytesWrittenBy(() -> storage.saveMovieToFile(movie)));
+    }
+
+    @Test
+    void testLinkAndUnlinkBeforeSaveWritesNothing() {
+        movie.unlink(performers.get(0));
+        movie.link(performers.get(0));
+        assertEquals(0, bytesWrittenBy(() -> storage.saveMovieToFile(movie)));
+    }
+
+    @Test
+    void testDeletePerformerWritesItsLinks() {
+        Movie otherMovie = new Movie("Other");
+        model.addMovie(otherMovie);
+        performers.get(0).link(otherMovie);
+        storage.saveMovieToFile(otherMovie);
+
+        assertEquals(2 * BYTES_PER_LINK, bytesWrittenBy(
+                () -> storage.deletePerformerFile(performers.get(0))));
+    }
+}
@@ -1,6 +1,8 @@
 package de.uhd.ifi.se.moviemanager.storage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.collect.Multimap;
 
@@ -8,12 +10,16 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 
 import de.uhd.ifi.se.moviemanager.model.Movie;
 import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
 import de.uhd.ifi.se.moviemanager.model.Performer;
+import de.uhd.ifi.se.moviemanager.util.FileUtils;
 
 class AssociationStorageManagerTest {
 
@@ -75,4 +81,106 @@ class AssociationStorageManagerTest {
         assertEquals(0, mapReloaded.size());
         assertEquals(model.getMoviePerformerAssociations(), mapReloaded);
     }
+
+    private AssociationStorageManager<Movie, Performer> createStorageManager() {
+        return new AssociationStorageManager<>("movie-performer",
+                id -> model.getMovieById(id).get(),
+                id -> model.getPerformerById(id).get(), HOME.toFile());
+    }
+
+    @Test
+    void testOnlyChangedAssociationsAreAppended() {
+        Movie movie = new Movie();
+        model.addMovie(movie);
+        for (int i = 0; i < 10; i++) {
+            Performer performer = new Performer();
+            model.addPerformer(performer);
+            performer.link(movie);
+        }
+        AssociationStorageManager<Movie, Performer> storageManager =
+                createStorageManager();
+        storageManager.saveToStorage(model.getMoviePerformerAssociations());
+        File file = HOME.resolve("associations")
+                .resolve("movie-performer.bin").toFile();
+        long initialLength = file.length();
+
+        // test
+        Performer performer = new Performer();
+        model.addPerformer(performer);
+        performer.link(movie);
+        storageManager.saveToStorage(model.getMoviePerformerAssociations());
+        assertEquals(initialLength + 8, file.length());
+        assertEquals(1, storageManager.getDeltaPairCount());
+
+        storageManager.saveToStorage(model.getMoviePerformerAssociations());
+        assertEquals(initialLength + 8, file.length());
+    }
+
+    @Test
+    void testRemovedAssociationIsPersisted() {
+        Performer performer = new Performer();
+        model.addPerformer(performer);
+        Movie movie = new Movie();
+        model.addMovie(movie);
+        performer.link(movie);
+
+        AssociationStorageManager<Movie, Performer> storageManager =
+                createStorageManager();
+        storageManager.saveToStorage(model.getMoviePerformerAssociations());
+        performer.unlink(movie);
+        storageManager.saveToStorage(model.getMoviePerformerAssociations());
+
+        Multimap<Movie, Performer> mapReloaded = createStorageManager()
+                .loadFromStorage();
+        assertTrue(mapReloaded.isEmpty());
+    }
+
+    @Test
+    void testCompaction() {
+        Movie movie = new Movie();
+        model.addMovie(movie);
+        Performer performer = new Performer();
+        model.addPerformer(performer);
+
+        AssociationStorageManager<Movie, Performer> storageManager =
+                createStorageManager();
+        long pair = AssociationStorageManager.pair(movie.getId(),
+                performer.getId());
+        for (int i = 0; i <= AssociationStorageManager
+                .MIN_DELTAS_FOR_COMPACTION; i++) {
+            storageManager.saveChanges(Collections.singleton(pair),
+                    Collections.emptySet());
+            storageManager.saveChanges(Collections.emptySet(),
+                    Collections.singleton(pair));
+        }
+        storageManager.saveChanges(Collections.singleton(pair),
+                Collections.emptySet());
+        assertTrue(storageManager.getDeltaPairCount() <
+                AssociationStorageManager.MIN_DELTAS_FOR_COMPACTION);
+
+        Multimap<Movie, Performer> mapReloaded = createStorageManager()
+                .loadFromStorage();
+        assertEquals(1, mapReloaded.size());
+        assertTrue(mapReloaded.containsEntry(movie, performer));
+    }
+
+    @Test
+    void testLegacyJsonFileIsMigrated() throws IOException {
+        Performer performer = new Performer();
+        model.addPerformer(performer);
+        Movie movie = new Movie();
+        model.addMovie(movie);
+        File legacyFile = HOME.resolve("associations")
+                .resolve("movie-performer.json").toFile();
+        FileUtils.writeLines(legacyFile,
+                Collections.singletonList("[{\"first\":0,\"second\":0}]"));
+
+        Multimap<Movie, Performer> mapReloaded = createStorageManager()
+                .loadFromStorage();
+
+        assertTrue(mapReloaded.containsEntry(movie, performer));
+        assertFalse(legacyFile.exists());
+        assertTrue(HOME.resolve("associations").resolve("movie-performer.bin")
+                .toFile().exists());
+    }
 }
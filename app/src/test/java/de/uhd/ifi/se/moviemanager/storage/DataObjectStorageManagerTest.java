@@ -12,7 +12,10 @@ import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import de.uhd.ifi.se.moviemanager.model.Movie;
 import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
@@ -69,4 +72,23 @@ class DataObjectStorageManagerTest {
         // movie was deleted in JSON file but not in RAM (movie manager model)
         assertNotNull(movie);
     }
+
+    @Test
+    void testParallelLoading() {
+        DataObjectStorageManager<Movie> storageManager =
+                new DataObjectStorageManager<>(HOME.toFile(), Movie.class);
+        for (int i = 0; i < 300; i++) {
+            Movie movie = new Movie(i);
+            movie.setTitle("Movie " + i);
+            storageManager.saveToStorage(movie);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Movie> movies = storageManager.loadFromStorageAsync(executor)
+                .join();
+        executor.shutdown();
+
+        assertEquals(300, movies.size());
+        assertEquals(storageManager.loadFromStorage().size(), movies.size());
+    }
 }
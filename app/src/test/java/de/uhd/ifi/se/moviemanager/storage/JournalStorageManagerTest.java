@@ -0,0 +1,180 @@
+package de.uhd.ifi.se.moviemanager.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
+import de.uhd.ifi.se.moviemanager.util.FileUtils;
+
+class JournalStorageManagerTest {
+    private static final Path HOME = Paths.get("TestRuntimeStorage");
+    private static final File JOURNAL_DIRECTORY = HOME.resolve("journal")
+            .toFile();
+    private final MovieManagerModel model = MovieManagerModel.getInstance();
+
+    @BeforeEach
+    void init() {
+        model.clear();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        model.clear();
+        FileUtils.delete(HOME.toFile());
+    }
+
+    private JournalStorageManager<Movie> createStorageManager(
+            int minRecordsForCompaction) {
+        return new JournalStorageManager<>(new Journal(JOURNAL_DIRECTORY,
+                "movie", 1024, minRecordsForCompaction, 0.5), Movie.class);
+    }
+
+    @Test
+    void testSaveAndReload() {
+        JournalStorageManager<Movie> storageManager = createStorageManager(100);
+        Movie movie = new Movie(0);
+        movie.setTitle("The Movie");
+        movie.setRuntime(120);
+        storageManager.saveToStorage(movie);
+        storageManager.close();
+
+        List<Movie> reloaded = createStorageManager(100).loadFromStorage();
+        assertEquals(1, reloaded.size());
+        assertEquals(movie, reloaded.get(0));
+        assertEquals(120, reloaded.get(0).getRuntime());
+    }
+
+    @Test
+    void testLatestRecordWins() {
+        JournalStorageManager<Movie> storageManager = createStorageManager(100);
+        Movie movie = new Movie(0);
+        storageManager.saveToStorage(movie);
+        movie.setTitle("Updated");
+        storageManager.saveToStorage(movie);
+        Movie removed = new Movie(1);
+        storageManager.saveToStorage(removed);
+        storageManager.remove(removed);
+        storageManager.close();
+
+        List<Movie> reloaded = createStorageManager(100).loadFromStorage();
+        assertEquals(1, reloaded.size());
+        assertEquals("Updated", reloaded.get(0).getTitle());
+    }
+
+    @Test
+    void testCompaction() throws Exception {
+        Journal journal = new Journal(JOURNAL_DIRECTORY, "movie", 256, 10,
+                0.5);
+        JournalStorageManager<Movie> storageManager =
+                new JournalStorageManager<>(journal, Movie.class);
+        Movie movie = new Movie(0);
+        for (int i = 0; i < 50; i++) {
+            movie.setTitle("Title " + i);
+            storageManager.saveToStorage(movie);
+        }
+        journal.awaitCompaction();
+        journal.compact().get();
+
+        assertEquals(0, journal.getDeadRecordCount());
+        String[] compacted = JOURNAL_DIRECTORY
+                .list((directory, name) -> name.endsWith(".compact"));
+        assertEquals(1, compacted.length);
+
+        storageManager.close();
+        List<Movie> reloaded = createStorageManager(100).loadFromStorage();
+        assertEquals(1, reloaded.size());
+        assertEquals("Title 49", reloaded.get(0).getTitle());
+    }
+
+    @Test
+    void testDetailsAreLoadedOnFirstAccess() {
+        JournalStorageManager<Movie> storageManager = createStorageManager(100);
+        Movie movie = new Movie(0);
+        movie.setTitle("The Movie");
+        movie.setDescription("A long description");
+        movie.setLanguages(List.of("English"));
+        storageManager.saveToStorage(movie);
+        storageManager.close();
+
+        Movie reloaded = createStorageManager(100).loadFromStorage().get(0);
+        assertFalse(reloaded.isHydrated());
+        assertEquals("The Movie", reloaded.getTitle());
+        assertFalse(reloaded.isHydrated());
+
+        assertEquals("A long description", reloaded.getDescription());
+        assertTrue(reloaded.isHydrated());
+        assertEquals(List.of("English"), reloaded.getLanguages());
+    }
+
+    @Test
+    void testDetailsAreLoadedAfterCompaction() throws Exception {
+        Journal journal = new Journal(JOURNAL_DIRECTORY, "movie", 256, 10,
+                0.5);
+        JournalStorageManager<Movie> storageManager =
+                new JournalStorageManager<>(journal, Movie.class);
+        for (int i = 0; i < 20; i++) {
+            Movie movie = new Movie(i % 2);
+            movie.setDescription("Description " + i);
+            storageManager.saveToStorage(movie);
+        }
+        List<Movie> reloaded = storageManager.loadFromStorage();
+        journal.compact().get();
+
+        assertEquals("Description 18", reloaded.get(0).getDescription());
+        assertEquals("Description 19", reloaded.get(1).getDescription());
+        storageManager.close();
+    }
+
+    @Test
+    void testTornRecordIsCutOff() throws IOException {
+        JournalStorageManager<Movie> storageManager = createStorageManager(100);
+        storageManager.saveToStorage(new Movie(0));
+        storageManager.close();
+
+        File segment = JOURNAL_DIRECTORY
+                .listFiles((directory, name) -> name.endsWith(".log"))[0];
+        long validLength = segment.length();
+        try (FileOutputStream out = new FileOutputStream(segment, true)) {
+            out.write(new byte[]{Journal.PUT, 0, 0, 0, 1, 0, 0});
+        }
+
+        storageManager = createStorageManager(100);
+        assertEquals(1, storageManager.loadFromStorage().size());
+        assertEquals(validLength, segment.length());
+
+        storageManager.saveToStorage(new Movie(1));
+        storageManager.close();
+        assertEquals(2, createStorageManager(100).loadFromStorage().size());
+    }
+
+    @Test
+    void testMigrationFromJsonFiles() {
+        DataObjectStorageManager<Movie> legacyStore =
+                new DataObjectStorageManager<>(HOME.toFile(), Movie.class);
+        legacyStore.saveToStorage(new Movie(0));
+        legacyStore.saveToStorage(new Movie(1));
+
+        JournalStorageManager<Movie> storageManager =
+                new JournalStorageManager<>(HOME.toFile(), Movie.class);
+        assertFalse(storageManager.exists());
+        storageManager.migrateFrom(legacyStore);
+
+        assertTrue(storageManager.exists());
+        assertFalse(HOME.resolve("movies").toFile().exists());
+        assertEquals(2, storageManager.loadFromStorage().size());
+        storageManager.close();
+    }
+}
@@ -0,0 +1,178 @@
+package de.uhd.ifi.se.moviemanager.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import de.uhd.ifi.se.moviemanager.model.Hydrator;
+import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
+import de.uhd.ifi.se.moviemanager.model.Performer;
+import de.uhd.ifi.se.moviemanager.util.FileUtils;
+
+class ModelSnapshotTest {
+    private static final Path HOME = Paths.get("TestRuntimeStorage");
+    private static final File SNAPSHOT = HOME.resolve("snapshot.bin").toFile();
+    private StorageManager storage;
+    private final MovieManagerModel model = MovieManagerModel.getInstance();
+
+    @BeforeEach
+    void init() {
+        storage = StorageManagerImpl.getInstance(HOME.toFile());
+        storage.clear();
+        model.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.selfDestruct();
+        model.clear();
+    }
+
+    private Movie saveLinkedMovie() {
+        Movie movie = new Movie("Movie");
+        movie.setDescription("Description");
+        model.addMovie(movie);
+        Performer performer = new Performer("Performer");
+        model.addPerformer(performer);
+        movie.link(performer);
+        storage.savePerformerToFile(performer);
+        storage.saveMovieToFile(movie);
+        return movie;
+    }
+
+    @Test
+    void testModelIsRestoredFromSnapshot() throws IOException {
+        saveLinkedMovie();
+        storage.saveSnapshot();
+        assertTrue(SNAPSHOT.exists());
+
+        // the snapshot is read instead of the JSON files
+        FileUtils.delete(HOME.resolve("movies").toFile());
+        storage.clear();
+
+        assertEquals(1, model.getMovies().size());
+        Movie movie = model.getMovies().iterator().next();
+        assertEquals("Description", movie.getDescription());
+        assertEquals(1, movie.getPerformers().size());
+        assertEquals("Performer", movie.getPerformers().get(0).getName());
+    }
+
+    @Test
+    void testWriteInvalidatesSnapshot() {
+        Movie movie = saveLinkedMovie();
+        storage.saveSnapshot();
+        assertTrue(SNAPSHOT.exists());
+
+        movie.setTitle("Updated");
+        storage.saveMovieToFile(movie);
+        assertFalse(SNAPSHOT.exists());
+
+        storage.clear();
+        assertEquals("Updated",
+                model.getMovies().iterator().next().getTitle());
+    }
+
+    @Test
+    void testCorruptSnapshotIsIgnored() throws IOException {
+        saveLinkedMovie();
+        storage.saveSnapshot();
+        try (RandomAccessFile file = new RandomAccessFile(SNAPSHOT, "rw")) {
+            file.seek(10);
+            file.write(file.read() ^ 0xFF);
+        }
+
+        assertFalse(ModelSnapshot.read(SNAPSHOT, Optional.empty(),
+                Optional.empty()).isPresent());
+        storage.clear();
+        assertFalse(SNAPSHOT.exists());
+        assertEquals(1, model.getMovies().size());
+    }
+
+    @Test
+    void testDetailsOfSummariesAreLoadedOnDemand() throws IOException {
+        Movie summary = new Movie(0);
+        Movie complete = new Movie(0);
+        complete.setDescription("Loaded later");
+        Hydrator hydrator = id -> Optional.of(complete);
+        summary.setHydrator(hydrator);
+        model.addMovie(summary);
+        HOME.toFile().mkdirs();
+        ModelSnapshot.write(SNAPSHOT, model);
+
+        // details are missing and cannot be loaded
+        assertFalse(ModelSnapshot.read(SNAPSHOT, Optional.empty(),
+                Optional.empty()).isPresent());
+
+        Movie restored = ModelSnapshot.read(SNAPSHOT, Optional.of(hydrator),
+                Optional.empty()).get().getMovies().get(0);
+        assertFalse(restored.isHydrated());
+        assertEquals("Loaded later", restored.getDescription());
+    }
+
+    @Test
+    void testNullListsAreStored() throws IOException {
+        Movie movie = new Movie("Movie");
+        movie.setLanguages(null);
+        movie.setReleases(null);
+        movie.setProductionLocations(null);
+        model.addMovie(movie);
+        Performer performer = new Performer("Performer");
+        performer.setOccupations(null);
+        model.addPerformer(performer);
+        HOME.toFile().mkdirs();
+        ModelSnapshot.write(SNAPSHOT, model);
+
+        ModelSnapshot snapshot = ModelSnapshot.read(SNAPSHOT, Optional.empty(),
+                Optional.empty()).get();
+        Movie restored = snapshot.getMovies().get(0);
+        assertNull(restored.getLanguages());
+        assertNull(restored.getReleases());
+        assertNull(restored.getProductionLocations());
+        assertNull(snapshot.getPerformers().get(0).getOccupations());
+    }
+
+    @Test
+    void testNoSnapshotOfUnsavedChanges() {
+        Movie movie = saveLinkedMovie();
+        movie.setTitle("Not saved");
+        storage.saveSnapshot();
+        assertFalse(SNAPSHOT.exists());
+
+        storage.saveMovieToFile(movie);
+        storage.saveSnapshot();
+        assertTrue(SNAPSHOT.exists());
+    }
+
+    @Test
+    void testIdsOfDeletedObjectsAreNotReusedWithoutSnapshot() {
+        Movie movie = saveLinkedMovie();
+        Movie deleted = new Movie("Deleted");
+        model.addMovie(deleted);
+        storage.saveMovieToFile(deleted);
+        storage.saveSnapshot();
+
+        // the deletion invalidates the snapshot, the app is killed before
+        // the next snapshot
+        storage.deleteMovieFile(deleted);
+        assertFalse(SNAPSHOT.exists());
+        model.clear();
+        storage.clear();
+
+        assertEquals(1, model.getMovies().size());
+        assertTrue(new Movie().getId() > deleted.getId());
+        assertTrue(deleted.getId() > movie.getId());
+    }
+}
@@ -0,0 +1,197 @@
+package de.uhd.ifi.se.moviemanager.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import de.uhd.ifi.se.moviemanager.model.ImagePyramid;
+import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
+import de.uhd.ifi.se.moviemanager.model.Performer;
+
+class StorageManagerAccessTest {
+    private final StorageManagerAccess storage = StorageManagerAccess
+            .getInstance();
+    private final MovieManagerModel model = MovieManagerModel.getInstance();
+    private RecordingStorageManager recorder;
+
+    /**
+     * Records the writes. The first write blocks until it is released, so that
+     * the following writes wait in the queue.
+     */
+    private static class RecordingStorageManager implements StorageManager {
+        private final List<String> writes =
+                Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        private void record(String write) {
+            writes.add(write);
+            started.countDown();
+            try {
+                released.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public Movie saveMovieToFile(Movie movie) {
+            record("save " + movie);
+            return movie;
+        }
+
+        @Override
+        public Performer savePerformerToFile(Performer performer) {
+            record("save " + performer);
+            return performer;
+        }
+
+        @Override
+        public boolean deleteMovieFile(Movie movie) {
+            record("delete " + movie);
+            return true;
+        }
+
+        @Override
+        public boolean deletePerformerFile(Performer performer) {
+            record("delete " + performer);
+            return true;
+        }
+
+        @Override
+        public String getImagePath() {
+            return "images";
+        }
+
+        @Override
+        public void saveImage(ImagePyramid imagePyramid) {
+            record("image " + imagePyramid.getFileName());
+        }
+
+        @Override
+        public void clear() {
+            // nothing stored
+        }
+
+        @Override
+        public void selfDestruct() {
+            // nothing stored
+        }
+    }
+
+    @BeforeEach
+    void init() {
+        model.clear();
+        recorder = new RecordingStorageManager();
+        storage.setStorageManager(recorder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorder.released.countDown();
+        storage.flush();
+        model.clear();
+    }
+
+    private void blockWriter() throws InterruptedException {
+        storage.savePerformerAsync(new Performer(99));
+        assertTrue(recorder.started.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testRepeatedSavesAreCoalesced() throws InterruptedException {
+        blockWriter();
+        Movie movie = new Movie(0);
+        CompletableFuture<Void> first = storage.saveMovieAsync(movie);
+        movie.setTitle("Changed");
+        CompletableFuture<Void> second = storage.saveMovieAsync(movie);
+        storage.saveMovieAsync(movie);
+        assertSame(first, second);
+        assertFalse(first.isDone());
+
+        recorder.released.countDown();
+        storage.flush();
+
+        assertTrue(first.isDone());
+        assertEquals(2, recorder.writes.size());
+        assertEquals("save Movie{id=0, name=Changed}", recorder.writes.get(1));
+    }
+
+    @Test
+    void testDeleteReplacesQueuedSave() throws InterruptedException {
+        Movie movie = new Movie(0);
+        model.addMovie(movie);
+        blockWriter();
+        storage.saveMovieAsync(movie);
+        storage.deleteMovieAsync(movie);
+
+        // the model is updated before the file is deleted
+        assertTrue(model.getMovies().isEmpty());
+
+        recorder.released.countDown();
+        storage.flush();
+        assertEquals(2, recorder.writes.size());
+        assertEquals("delete Movie{id=0, name=}", recorder.writes.get(1));
+    }
+
+    @Test
+    void testWritesKeepTheirOrder() throws InterruptedException {
+        blockWriter();
+        storage.saveMovieAsync(new Movie(0));
+        storage.savePerformerAsync(new Performer(1));
+        storage.saveMovieAsync(new Movie(2));
+
+        recorder.released.countDown();
+        storage.flush();
+        assertEquals(List.of("save Performer{id=99, name=}",
+                "save Movie{id=0, name=}", "save Performer{id=1, name=}",
+                "save Movie{id=2, name=}"), recorder.writes);
+    }
+
+    @Test
+    void testReplacedWriteMovesToTheEnd() throws InterruptedException {
+        blockWriter();
+        Movie movie = new Movie(0);
+        storage.saveMovieAsync(movie);
+        storage.savePerformerAsync(new Performer(1));
+        movie.setTitle("Changed");
+        storage.saveMovieAsync(movie);
+
+        recorder.released.countDown();
+        storage.flush();
+        assertEquals(List.of("save Performer{id=99, name=}",
+                "save Performer{id=1, name=}",
+                "save Movie{id=0, name=Changed}"), recorder.writes);
+    }
+
+    @Test
+    void testSynchronousWriteOnWriterThread() throws Exception {
+        recorder = new RecordingStorageManager() {
+            @Override
+            public Movie saveMovieToFile(Movie movie) {
+                // waiting for the queue would block the writer forever
+                storage.savePerformerToFile(new Performer(1));
+                return super.saveMovieToFile(movie);
+            }
+        };
+        recorder.released.countDown();
+        storage.setStorageManager(recorder);
+
+        storage.saveMovieAsync(new Movie(0)).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("save Performer{id=1, name=}",
+                "save Movie{id=0, name=}"), recorder.writes);
+    }
+}
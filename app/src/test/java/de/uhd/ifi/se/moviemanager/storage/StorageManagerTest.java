@@ -26,6 +26,7 @@ import de.uhd.ifi.se.moviemanager.model.Movie;
 import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
 import de.uhd.ifi.se.moviemanager.model.MovieRelease;
 import de.uhd.ifi.se.moviemanager.model.Performer;
+import de.uhd.ifi.se.moviemanager.util.FileUtils;
 
 
 class StorageManagerTest {
@@ -228,6 +229,42 @@ class StorageManagerTest {
         assertSame(p1, p1C);
     }
 
+    @Test
+    void testUnchangedMovieIsNotWritten() throws Throwable {
+        Movie movie = storage.saveMovieToFile(new Movie("Movie"));
+        model.addMovie(movie);
+        Path moviePath = HOME.resolve("movies").resolve("movie_0.json");
+        FileUtils.delete(moviePath.toFile());
+
+        movie.setTitle("Movie");
+        storage.saveMovieToFile(movie);
+        assertFalse(moviePath.toFile().exists());
+
+        movie.setRating(3);
+        storage.saveMovieToFile(movie);
+        assertTrue(moviePath.toFile().exists());
+        assertEquals(3, readMovieFromFile("movie_0.json").getRating());
+    }
+
+    @Test
+    void testMovieIsWrittenAgainAfterFailedWrite() throws Throwable {
+        Movie movie = storage.saveMovieToFile(new Movie("Movie"));
+        model.addMovie(movie);
+        Path moviePath = HOME.resolve("movies").resolve("movie_0.json");
+        // a directory in place of the file makes the write fail
+        FileUtils.delete(moviePath.toFile());
+        assertTrue(moviePath.toFile().mkdir());
+
+        movie.setRating(3);
+        storage.saveMovieToFile(movie);
+        assertTrue(movie.isDirty());
+
+        FileUtils.delete(moviePath.toFile());
+        storage.saveMovieToFile(movie);
+        assertFalse(movie.isDirty());
+        assertEquals(3, readMovieFromFile("movie_0.json").getRating());
+    }
+
     private Movie setupMovie(String title) {
         Movie movie = new Movie();
         movie.setTitle(title);
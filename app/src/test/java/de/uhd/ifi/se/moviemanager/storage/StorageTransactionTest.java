@@ -0,0 +1,106 @@
+package de.uhd.ifi.se.moviemanager.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uhd.ifi.se.moviemanager.model.Identifiable;
+import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.model.MovieManagerModel;
+import de.uhd.ifi.se.moviemanager.model.Performer;
+
+class StorageTransactionTest {
+    private static final Path HOME = Paths.get("TestRuntimeStorage");
+    private static final File TRANSACTION_LOG = HOME
+            .resolve("transaction.json").toFile();
+    private StorageManager storage;
+    private final MovieManagerModel model = MovieManagerModel.getInstance();
+
+    @BeforeEach
+    void init() {
+        storage = StorageManagerImpl.getInstance(HOME.toFile());
+        storage.clear();
+        model.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.selfDestruct();
+        model.clear();
+    }
+
+    @Test
+    void testOperationsOnTheSameObjectAreMerged() {
+        StorageTransaction transaction = storage.beginTransaction();
+        Movie movie = new Movie(0);
+        transaction.saveMovie(movie);
+        transaction.deleteMovie(movie);
+        transaction.savePerformer(new Performer(0));
+
+        assertTrue(transaction.getSavedMovies().isEmpty());
+        assertEquals(List.of(movie), transaction.getDeletedMovies());
+        assertEquals(1, transaction.getSavedPerformers().size());
+    }
+
+    @Test
+    void testBulkDelete() {
+        Movie movie = new Movie("Movie");
+        model.addMovie(movie);
+        List<Performer> performers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Performer performer = new Performer("Performer " + i);
+            model.addPerformer(performer);
+            movie.link(performer);
+            performers.add(performer);
+            storage.savePerformerToFile(performer);
+        }
+        storage.saveMovieToFile(movie);
+
+        StorageTransaction transaction = storage.beginTransaction();
+        performers.forEach(transaction::deletePerformer);
+        transaction.deleteMovie(movie);
+        storage.commit(transaction);
+
+        assertTrue(model.getMovies().isEmpty());
+        assertTrue(model.getPerformers().isEmpty());
+        assertFalse(TRANSACTION_LOG.exists());
+
+        storage.clear();
+        assertTrue(model.getMovies().isEmpty());
+        assertTrue(model.getPerformers().isEmpty());
+        assertTrue(model.getMoviePerformerAssociations().isEmpty());
+    }
+
+    @Test
+    void testInterruptedTransactionIsCompletedOnStartup() throws IOException {
+        Performer performer = new Performer("Performer");
+        storage.savePerformerToFile(performer);
+        Movie movie = new Movie("Movie");
+        List<Identifiable> saved = List.of(movie);
+
+        // the log was committed, but the app was killed afterwards
+        new TransactionLog(saved, List.of(), List.of(),
+                List.of(AssociationStorageManager.pair(movie.getId(),
+                        performer.getId())), List.of())
+                .commit(TRANSACTION_LOG,
+                        DataObjectStorageManager.createObjectMapper());
+        storage.clear();
+
+        assertFalse(TRANSACTION_LOG.exists());
+        assertEquals(1, model.getMovies().size());
+        Movie restored = model.getMovies().iterator().next();
+        assertEquals("Movie", restored.getTitle());
+        assertEquals(1, restored.getPerformers().size());
+    }
+}
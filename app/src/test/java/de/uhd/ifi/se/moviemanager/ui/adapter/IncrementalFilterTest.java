@@ -0,0 +1,58 @@
+package de.uhd.ifi.se.moviemanager.ui.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import de.uhd.ifi.se.moviemanager.model.Movie;
+
+class IncrementalFilterTest {
+    private final List<Movie> movies = List.of(new Movie(1), new Movie(2),
+            new Movie(3), new Movie(4));
+    private final IncrementalFilter<Movie> filter = new IncrementalFilter<>(
+            Movie::getName);
+
+    IncrementalFilterTest() {
+        String[] titles = {"Star Wars", "Stardust", "Startup", "Alien"};
+        for (int i = 0; i < titles.length; i++) {
+            movies.get(i).setTitle(titles[i]);
+        }
+    }
+
+    @Test
+    void testNarrowingAndWidening() {
+        assertEquals(List.of(1, 2, 3), idsOf(filter("sta")));
+        assertEquals(List.of(1, 2, 3), idsOf(filter("star")));
+        assertEquals(List.of(1), idsOf(filter("STAR ")));
+        assertEquals(List.of(1, 2, 3), idsOf(filter("sta")));
+        assertEquals(List.of(1, 2, 3, 4), idsOf(filter("")));
+        assertEquals(List.of(4), idsOf(filter("lie")));
+    }
+
+    @Test
+    void testRenamedObjectsAreIndexedAgain() {
+        assertEquals(List.of(1, 2, 3), idsOf(filter("star")));
+        movies.get(3).setTitle("Lone Star");
+        assertEquals(List.of(1, 2, 3, 4), idsOf(filter("star")));
+        movies.get(3).setTitle("Alien");
+    }
+
+    @Test
+    void testCancelledFilterKeepsPreviousMatches() {
+        assertEquals(List.of(1, 2, 3), idsOf(filter("sta")));
+        assertNull(filter.filter(movies, "star w", () -> true));
+        assertEquals(List.of(1), idsOf(filter("star w")));
+    }
+
+    private List<Movie> filter(String filterString) {
+        return filter.filter(movies, filterString, () -> false);
+    }
+
+    private static List<Integer> idsOf(List<Movie> movies) {
+        return movies.stream().map(Movie::getId).collect(Collectors.toList());
+    }
+}
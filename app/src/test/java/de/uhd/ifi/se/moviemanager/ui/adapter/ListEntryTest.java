@@ -0,0 +1,105 @@
+package de.uhd.ifi.se.moviemanager.ui.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import de.uhd.ifi.se.moviemanager.model.Movie;
+import de.uhd.ifi.se.moviemanager.ui.master.comparator.CategorizedComparator;
+import de.uhd.ifi.se.moviemanager.ui.master.comparator.NameComparator;
+import de.uhd.ifi.se.moviemanager.ui.master.comparator.SortEngine;
+
+class ListEntryTest {
+    private final List<Movie> movies = new ArrayList<>();
+
+    ListEntryTest() {
+        String[] titles = {"b", "A", "c", "a", "B"};
+        for (int i = 0; i < titles.length; i++) {
+            Movie movie = new Movie(i);
+            movie.setTitle(titles[i]);
+            movies.add(movie);
+        }
+    }
+
+    @Test
+    void testEntriesKeepTheReadValues() {
+        NameComparator<Movie> comparator = new NameComparator<>(
+                Movie::getTitle);
+        List<ListEntry<Movie>> entries = ListEntry.of(movies, comparator);
+        movies.get(0).setTitle("Renamed");
+
+        ListEntry<Movie> entry = entries.get(0);
+        assertEquals("b", entry.getName());
+        assertEquals("b", entry.getSubText());
+        assertEquals("B", ListEntry.comparatorOf(comparator)
+                .getCategoryNameFor(entry));
+    }
+
+    @Test
+    void testChangedEntryIsReadAgain() {
+        NameComparator<Movie> comparator = new NameComparator<>(
+                Movie::getTitle);
+        List<ListEntry<Movie>> entries = ListEntry.of(movies, comparator);
+        Movie renamed = movies.get(0);
+        renamed.setTitle("Renamed");
+        entries.set(0, ListEntry.of(renamed, comparator));
+
+        assertTrue(ListEntry.hasKey(comparator));
+        assertEquals("Renamed", entries.get(0).getName());
+        assertEquals("R", ListEntry.comparatorOf(comparator)
+                .getCategoryNameFor(entries.get(0)));
+        SortEngine.sort(entries, ListEntry.comparatorOf(comparator), false);
+        assertSame(renamed, entries.get(entries.size() - 1)
+                .getModelObject());
+    }
+
+    @Test
+    void testEntriesAreSortedLikeTheModelObjects() {
+        assertSameOrder(new NameComparator<>(Movie::getTitle), false);
+        assertSameOrder(new NameComparator<>(Movie::getTitle), true);
+    }
+
+    @Test
+    void testEntriesOfComparatorWithoutKeyAreSortedStably() {
+        // compares the first letters case-insensitively without keys
+        CategorizedComparator<Movie> firstLetter =
+                new CategorizedComparator<Movie>() {
+                    @Override
+                    public int compare(Movie movie1, Movie movie2) {
+                        return movie1.getName().compareToIgnoreCase(
+                                movie2.getName());
+                    }
+
+                    @Override
+                    public String getCategoryNameFor(Movie movie) {
+                        return movie.getName();
+                    }
+
+                    @Override
+                    public String getSubText(Movie movie) {
+                        return "";
+                    }
+                };
+        assertSameOrder(firstLetter, false);
+        assertSameOrder(firstLetter, true);
+    }
+
+    private void assertSameOrder(CategorizedComparator<Movie> comparator,
+                                 boolean descending) {
+        List<Movie> expected = new ArrayList<>(movies);
+        SortEngine.sort(expected, comparator, descending);
+
+        List<ListEntry<Movie>> entries = ListEntry.of(movies, comparator);
+        SortEngine.sort(entries, ListEntry.comparatorOf(comparator),
+                descending);
+
+        assertEquals(expected, entries.stream().map(ListEntry::getModelObject)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,72 @@
+package de.uhd.ifi.se.moviemanager.ui.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import de.uhd.ifi.se.moviemanager.model.Movie;
+
+class TopKRankingTest {
+
+    @Test
+    void testEqualDistancesAreKeptAndOrderedById() {
+        List<Movie> movies = List.of(new Movie(4), new Movie(2), new Movie(3),
+                new Movie(1));
+        TopKRanking<Movie> ranking = new TopKRanking<>(3);
+
+        List<Movie> best = ranking.rank(movies, movie -> 0.5);
+
+        assertEquals(List.of(1, 2, 3), idsOf(best));
+    }
+
+    @Test
+    void testSmallestDistancesFirst() {
+        List<Movie> movies = new ArrayList<>();
+        for (int id = 0; id < 10; id++) {
+            movies.add(new Movie(id));
+        }
+        TopKRanking<Movie> ranking = new TopKRanking<>(4);
+
+        List<Movie> best = ranking.rank(movies,
+                movie -> Math.abs(movie.getId() - 6));
+
+        assertEquals(List.of(6, 5, 7, 4), idsOf(best));
+        assertEquals(List.of(6, 5, 7, 4, 8, 3, 9, 2, 1, 0),
+                idsOf(new TopKRanking<Movie>(20).rank(movies,
+                        movie -> Math.abs(movie.getId() - 6))));
+        assertTrue(ranking.rank(List.of(), movie -> 0).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> new TopKRanking<Movie>(0));
+    }
+
+    @Test
+    void testParallelRankingIsDeterministic() {
+        int size = TopKRanking.PARALLEL_THRESHOLD * 3 + 7;
+        List<Movie> movies = new ArrayList<>();
+        for (int id = 0; id < size; id++) {
+            movies.add(new Movie(id));
+        }
+        Collections.shuffle(movies, new Random(42));
+        TopKRanking<Movie> ranking = new TopKRanking<>(5);
+
+        // distances repeat every 100 ids, the ties are ordered by id
+        List<Movie> best = ranking.rank(movies,
+                movie -> (movie.getId() + 50) % 100);
+
+        assertEquals(List.of(50, 150, 250, 350, 450), idsOf(best));
+        assertEquals(idsOf(best), idsOf(ranking.rank(movies,
+                movie -> (movie.getId() + 50) % 100)));
+    }
+
+    private static List<Integer> idsOf(List<Movie> movies) {
+        return movies.stream().map(Movie::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,67 @@
+package de.uhd.ifi.se.moviemanager.ui.master.comparator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import de.uhd.ifi.se.moviemanager.model.Movie;
+
+class SortEngineTest {
+    private static final String[] NAMES = {"alien", "Alien", "Brazil", "", "b",
+            "Ägypten", "ZULU", "zulu"};
+
+    @Test
+    void testSortsLikeComparator() {
+        List<Movie> movies = createMovies(500);
+        List<CategorizedComparator<Movie>> comparators = List.of(
+                new NameComparator<>(Movie::getName), new RatingComparator<>(),
+                new WatchDateComparator());
+        for (CategorizedComparator<Movie> comparator : comparators) {
+            for (boolean descending : new boolean[]{false, true}) {
+                List<Movie> expected = new ArrayList<>(movies);
+                expected.sort(descending ? comparator.reversed() : comparator);
+                List<Movie> actual = new ArrayList<>(movies);
+                SortEngine.sort(actual, comparator, descending);
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    void testUnwatchedMoviesComeFirst() {
+        List<Movie> movies = createMovies(SortEngine.PARALLEL_THRESHOLD + 1);
+        SortEngine.sort(movies, new WatchDateComparator(), false);
+
+        int unwatched = 0;
+        while (movies.get(unwatched).getWatchDate() == null) {
+            unwatched++;
+        }
+        assertTrue(unwatched > 0);
+        for (int i = unwatched + 1; i < movies.size(); i++) {
+            assertFalse(movies.get(i).getWatchDate()
+                    .before(movies.get(i - 1).getWatchDate()));
+        }
+    }
+
+    private static List<Movie> createMovies(int count) {
+        Random random = new Random(7);
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Movie movie = new Movie(i);
+            movie.setName(NAMES[random.nextInt(NAMES.length)]);
+            movie.setRating(random.nextInt(6));
+            if (random.nextInt(4) > 0) {
+                movie.setWatchDate(new Date(random.nextInt(10) * 86400000L));
+            }
+            movies.add(movie);
+        }
+        return movies;
+    }
+}
@@ -0,0 +1,68 @@
+package de.uhd.ifi.se.moviemanager.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+class IntAdjacencyTest {
+    @Test
+    void testNeighborsAreSorted() {
+        IntAdjacency links = new IntAdjacency();
+        assertTrue(links.add(1, 9));
+        assertTrue(links.add(1, 2));
+        assertTrue(links.add(1, 5));
+        assertFalse(links.add(1, 5));
+
+        assertArrayEquals(new int[]{2, 5, 9}, links.neighbors(1));
+        assertEquals(3, links.degree(1));
+        assertTrue(links.contains(1, 2));
+        assertFalse(links.contains(2, 1));
+        assertEquals(3, links.size());
+
+        assertTrue(links.remove(1, 5));
+        assertFalse(links.remove(1, 5));
+        assertArrayEquals(new int[]{2, 9}, links.neighbors(1));
+    }
+
+    @Test
+    void testEmptyNodeIsForgotten() {
+        IntAdjacency links = new IntAdjacency();
+        links.add(4, 1);
+        links.remove(4, 1);
+
+        assertEquals(0, links.degree(4));
+        assertArrayEquals(new int[0], links.neighbors(4));
+        assertTrue(links.isEmpty());
+    }
+
+    @Test
+    void testMatchesSetOfLinks() {
+        IntAdjacency links = new IntAdjacency();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            int node = random.nextInt(50);
+            int neighbor = random.nextInt(100);
+            long link = (long) node << 32 | neighbor;
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(link), links.add(node, neighbor));
+            } else {
+                assertEquals(expected.remove(link),
+                        links.remove(node, neighbor));
+            }
+        }
+
+        Set<Long> actual = new HashSet<>();
+        links.forEachLink((node, neighbor) ->
+                actual.add((long) node << 32 | neighbor));
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), links.size());
+    }
+}
@@ -0,0 +1,60 @@
+package de.uhd.ifi.se.moviemanager.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+class IntObjectMapTest {
+    @Test
+    void testPutGetAndRemove() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertNull(map.put(3, "three"));
+        assertEquals("three", map.put(3, "drei"));
+        assertEquals("drei", map.get(3));
+        assertTrue(map.containsKey(3));
+        assertFalse(map.containsKey(4));
+        assertEquals(1, map.size());
+
+        assertEquals("drei", map.remove(3));
+        assertNull(map.remove(3));
+        assertNull(map.get(3));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testNullValueIsRejected() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, null));
+    }
+
+    @Test
+    void testBehavesLikeHashMap() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(2_000) - 100;
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = -100; key < 1_900; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(expected.keySet().iterator().next()));
+    }
+}